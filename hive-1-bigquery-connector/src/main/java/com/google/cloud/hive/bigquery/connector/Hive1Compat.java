@@ -25,6 +25,7 @@ import org.apache.arrow.vector.TimeStampMicroVector;
 import org.apache.avro.util.Utf8;
 import org.apache.hadoop.hive.ql.exec.Utilities;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.hive.ql.plan.LimitDesc;
 import org.apache.hadoop.hive.serde2.io.DateWritable;
 import org.apache.hadoop.hive.serde2.io.TimestampWritable;
 import org.apache.hadoop.hive.serde2.lazy.LazyDate;
@@ -98,4 +99,15 @@ public class Hive1Compat extends HiveCompat {
   public ExprNodeGenericFuncDesc deserializeExpression(String s) {
     return Utilities.deserializeExpression(s);
   }
+
+  @Override
+  public String serializeExpression(ExprNodeGenericFuncDesc expr) {
+    return Utilities.serializeExpression(expr);
+  }
+
+  @Override
+  public int getLimitOffset(LimitDesc limitDesc) {
+    // LIMIT clauses don't support offsets in Hive 1
+    return 0;
+  }
 }
@@ -29,6 +29,8 @@ import org.apache.arrow.vector.TimeStampMicroVector;
 import org.apache.avro.util.Utf8;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.ql.exec.SerializationUtilities;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDynamicValueDesc;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFCharacterLength;
@@ -147,4 +149,14 @@ public class Hive2Compat extends HiveCompat {
   public ExprNodeGenericFuncDesc deserializeExpression(String s) {
     return SerializationUtilities.deserializeExpression(s);
   }
+
+  @Override
+  public String serializeExpression(ExprNodeGenericFuncDesc expr) {
+    return SerializationUtilities.serializeExpression(expr);
+  }
+
+  @Override
+  public boolean isDynamicValue(ExprNodeDesc expr) {
+    return expr instanceof ExprNodeDynamicValueDesc;
+  }
 }
@@ -15,20 +15,22 @@
  */
 package com.google.cloud.hive.bigquery.connector;
 
-import com.google.cloud.bigquery.connector.common.BigQueryClient;
-import com.google.cloud.bigquery.connector.common.BigQueryClientModule;
-import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
-import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConnectorModule;
+import com.google.cloud.hive.bigquery.connector.config.BigQueryClients;
+import com.google.cloud.hive.bigquery.connector.input.BigQueryVectorizedInputFormat;
 import com.google.cloud.hive.bigquery.connector.utils.bq.BigQueryUtils;
-import com.google.inject.Guice;
-import com.google.inject.Injector;
 import java.util.Map;
 import org.apache.hadoop.hive.metastore.HiveMetaHook;
 import org.apache.hadoop.hive.ql.plan.TableDesc;
 import org.apache.hadoop.hive.ql.stats.Partish;
+import org.apache.hadoop.mapred.InputFormat;
 
 public class BigQueryStorageHandler extends BigQueryStorageHandlerBase {
 
+  @Override
+  public Class<? extends InputFormat> getInputFormatClass() {
+    return BigQueryVectorizedInputFormat.class;
+  }
+
   @Override
   public HiveMetaHook getMetaHook() {
     return new Hive3BigQueryMetaHook(conf);
@@ -50,12 +52,9 @@ public class BigQueryStorageHandler extends BigQueryStorageHandlerBase {
   // @Override
   public Map<String, String> getBasicStatistics(Partish partish) {
     org.apache.hadoop.hive.ql.metadata.Table hmsTable = partish.getTable();
-    Injector injector =
-        Guice.createInjector(
-            new BigQueryClientModule(),
-            new HiveBigQueryConnectorModule(conf, hmsTable.getParameters()));
-    return BigQueryUtils.getBasicStatistics(
-        injector.getInstance(BigQueryClient.class),
-        injector.getInstance(HiveBigQueryConfig.class).getTableId());
+    try (BigQueryClients clients = BigQueryClients.acquire(conf, hmsTable.getParameters())) {
+      return BigQueryUtils.getBasicStatistics(
+          clients.getBigQueryClient(), clients.getConfig().getTableId());
+    }
   }
 }
@@ -36,6 +36,8 @@ import org.apache.hadoop.hive.common.type.Date;
 import org.apache.hadoop.hive.common.type.Timestamp;
 import org.apache.hadoop.hive.common.type.TimestampTZ;
 import org.apache.hadoop.hive.ql.exec.SerializationUtilities;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDynamicValueDesc;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
 import org.apache.hadoop.hive.ql.udf.*;
 import org.apache.hadoop.hive.ql.udf.generic.*;
@@ -268,4 +270,14 @@ public class Hive3Compat extends HiveCompat {
   public ExprNodeGenericFuncDesc deserializeExpression(String s) {
     return SerializationUtilities.deserializeExpression(s);
   }
+
+  @Override
+  public String serializeExpression(ExprNodeGenericFuncDesc expr) {
+    return SerializationUtilities.serializeExpression(expr);
+  }
+
+  @Override
+  public boolean isDynamicValue(ExprNodeDesc expr) {
+    return expr instanceof ExprNodeDynamicValueDesc;
+  }
 }
@@ -15,8 +15,59 @@
  */
 package com.google.cloud.hive.bigquery.connector.input;
 
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.ql.plan.DynamicValue;
+import org.apache.hadoop.hive.ql.plan.ExprNodeColumnDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDynamicValueDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPAnd;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqual;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPGreaterThan;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
+import org.junit.jupiter.api.Test;
+
 public class BigQueryFiltersTest extends BigQueryFiltersTestBase {
 
-  // Tests are from the super-class
+  // Other tests are from the super-class
+
+  /**
+   * Ensure that the runtime values, e.g. the bounds of a dynamic semijoin reduction, are skipped
+   * from BigQuery's pushed down predicates and left to Hive.
+   */
+  @Test
+  public void testSkipDynamicValue() {
+    Configuration conf = new Configuration();
+
+    // Define: a = "abcd"
+    ExprNodeColumnDesc a = new ExprNodeColumnDesc();
+    a.setColumn("a");
+    a.setTypeInfo(TypeInfoFactory.stringTypeInfo);
+    ExprNodeConstantDesc abcd = new ExprNodeConstantDesc();
+    abcd.setValue("abcd");
+    abcd.setTypeInfo(TypeInfoFactory.stringTypeInfo);
+    ExprNodeGenericFuncDesc equalA = new ExprNodeGenericFuncDesc();
+    equalA.setGenericUDF(new GenericUDFOPEqual());
+    equalA.setChildren(Arrays.asList(a, abcd));
+
+    // Define: b > DynamicValue(min)
+    ExprNodeColumnDesc b = new ExprNodeColumnDesc();
+    b.setColumn("b");
+    b.setTypeInfo(TypeInfoFactory.longTypeInfo);
+    ExprNodeDynamicValueDesc min =
+        new ExprNodeDynamicValueDesc(new DynamicValue("b_min", TypeInfoFactory.longTypeInfo));
+    ExprNodeGenericFuncDesc greaterThanMin = new ExprNodeGenericFuncDesc();
+    greaterThanMin.setGenericUDF(new GenericUDFOPGreaterThan());
+    greaterThanMin.setChildren(Arrays.asList(b, min));
 
+    // Translate: a = "abcd" AND b > DynamicValue(min)
+    ExprNodeGenericFuncDesc and = new ExprNodeGenericFuncDesc();
+    and.setGenericUDF(new GenericUDFOPAnd());
+    and.setChildren(Arrays.asList(equalA, greaterThanMin));
+    assertSame(greaterThanMin, BigQueryFilters.getResidualFilter(and));
+    assertEquals("(a = 'abcd')", BigQueryFilters.translateFilters(and, conf).getExprString());
+  }
 }
@@ -15,17 +15,14 @@
  */
 package com.google.cloud.hive.bigquery.connector;
 
-import com.google.api.gax.rpc.HeaderProvider;
 import com.google.cloud.bigquery.*;
 import com.google.cloud.bigquery.Schema;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.bigquery.TableInfo;
 import com.google.cloud.bigquery.connector.common.BigQueryClient;
-import com.google.cloud.bigquery.connector.common.BigQueryClientModule;
-import com.google.cloud.bigquery.connector.common.BigQueryCredentialsSupplier;
 import com.google.cloud.bigquery.connector.common.BigQueryUtil;
+import com.google.cloud.hive.bigquery.connector.config.BigQueryClients;
 import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
-import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConnectorModule;
 import com.google.cloud.hive.bigquery.connector.output.BigQueryOutputCommitter;
 import com.google.cloud.hive.bigquery.connector.output.OutputCommitterUtils;
 import com.google.cloud.hive.bigquery.connector.utils.JobUtils;
@@ -34,8 +31,6 @@ import com.google.cloud.hive.bigquery.connector.utils.bq.BigQueryUtils;
 import com.google.cloud.hive.bigquery.connector.utils.hive.HiveUtils;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
-import com.google.inject.Guice;
-import com.google.inject.Injector;
 import java.io.IOException;
 import java.util.*;
 import org.apache.hadoop.conf.Configuration;
@@ -135,7 +130,7 @@ public class BigQueryMetaHook {
   }
 
   protected void createBigQueryTable(
-      Injector injector,
+      BigQueryClients clients,
       TableId tableId,
       StandardTableDefinition tableDefinition,
       HiveBigQueryConfig opts,
@@ -154,11 +149,9 @@ public class BigQueryMetaHook {
             keyName ->
                 bigQueryTableInfo.setEncryptionConfiguration(
                     EncryptionConfiguration.newBuilder().setKmsKeyName(keyName).build()));
-    BigQueryCredentialsSupplier credentialsSupplier =
-        injector.getInstance(BigQueryCredentialsSupplier.class);
-    HeaderProvider headerProvider = injector.getInstance(HeaderProvider.class);
     BigQuery bigQueryService =
-        BigQueryUtils.getBigQueryService(opts, headerProvider, credentialsSupplier);
+        BigQueryUtils.getBigQueryService(
+            opts, clients.getHeaderProvider(), clients.getCredentialsSupplier());
     bigQueryService.create(bigQueryTableInfo.build());
   }
 
@@ -172,6 +165,24 @@ public class BigQueryMetaHook {
     // Make sure the specified types are supported
     validateHiveTypes(table.getSd().getCols());
 
+    if (table.getParameters().containsKey(HiveBigQueryConfig.QUERY_KEY)) {
+      // The table is read from the results of a BigQuery query, which are only materialized when
+      // the table is read
+      if (!HiveUtils.isExternalTable(table)) {
+        throw new MetaException(
+            String.format(
+                "A table defined by the `%s` table property must be an external table.",
+                HiveBigQueryConfig.QUERY_KEY));
+      }
+      if (table.getParameters().containsKey(HiveBigQueryConfig.TABLE_KEY)) {
+        throw new MetaException(
+            String.format(
+                "The `%s` and `%s` table properties can't both be set.",
+                HiveBigQueryConfig.QUERY_KEY, HiveBigQueryConfig.TABLE_KEY));
+      }
+      return;
+    }
+
     TableId tableId = getTableId(table);
     table
         .getParameters()
@@ -200,12 +211,15 @@ public class BigQueryMetaHook {
       throw new MetaException("Cannot create table in BigQuery with a `location` property.");
     }
 
-    Injector injector =
-        Guice.createInjector(
-            new BigQueryClientModule(),
-            new HiveBigQueryConnectorModule(conf, table.getParameters()));
-    BigQueryClient bqClient = injector.getInstance(BigQueryClient.class);
-    HiveBigQueryConfig opts = injector.getInstance(HiveBigQueryConfig.class);
+    try (BigQueryClients clients = BigQueryClients.acquire(conf, table.getParameters())) {
+      preCreateTable(table, tableId, clients);
+    }
+  }
+
+  private void preCreateTable(Table table, TableId tableId, BigQueryClients clients)
+      throws MetaException {
+    BigQueryClient bqClient = clients.getBigQueryClient();
+    HiveBigQueryConfig opts = clients.getConfig();
     if (HiveUtils.isExternalTable(table)) {
       if (bqClient.tableExists(tableId)) {
         Map<String, String> basicStats = BigQueryUtils.getBasicStatistics(bqClient, tableId);
@@ -258,7 +272,7 @@ public class BigQueryMetaHook {
       tableDefBuilder.setTimePartitioning(tpBuilder.build());
     }
 
-    createBigQueryTable(injector, tableId, tableDefBuilder.build(), opts, table);
+    createBigQueryTable(clients, tableId, tableDefBuilder.build(), opts, table);
 
     String hmsDbTableName = HiveUtils.getDbTableName(table);
     LOG.info("Created BigQuery table {} for {}", tableId, hmsDbTableName);
@@ -282,7 +296,7 @@ public class BigQueryMetaHook {
         jobDetails.setBigquerySchema(tableSchema);
         if (opts.getWriteMethod().equals(HiveBigQueryConfig.WRITE_METHOD_INDIRECT)) {
           BigQueryStorageHandlerBase.configureJobDetailsForIndirectWrite(
-              opts, jobDetails, injector.getInstance(BigQueryCredentialsSupplier.class));
+              opts, jobDetails, clients.getCredentialsSupplier());
         }
         jobDetails.writeFile(conf);
       }
@@ -297,11 +311,6 @@ public class BigQueryMetaHook {
 
   public static void makeOverwrite(Configuration conf, JobDetails jobDetails) {
     jobDetails.setOverwrite(true);
-    Injector injector =
-        Guice.createInjector(
-            new BigQueryClientModule(),
-            new HiveBigQueryConnectorModule(conf, jobDetails.getTableProperties()));
-    BigQueryClient bqClient = injector.getInstance(BigQueryClient.class);
     if (jobDetails.getWriteMethod().equals(HiveBigQueryConfig.WRITE_METHOD_DIRECT)) {
       // Special case: 'INSERT OVERWRITE' operation while using the 'direct'
       // write method. In this case, we will stream-write to a temporary table
@@ -318,13 +327,19 @@ public class BigQueryMetaHook {
       // Create a temporary table with the same schema
       // TODO: It'd be useful to add a description to the table explaining that it was
       //  created as a temporary table for a Hive query.
-      TableInfo tempTableInfo =
-          bqClient.createTempTable(
-              TableId.of(
-                  destTableId.getProject(),
-                  destTableId.getDataset(),
-                  destTableId.getTable() + "-" + HiveUtils.getQueryId(conf) + "-"),
-              jobDetails.getBigquerySchema());
+      TableInfo tempTableInfo;
+      try (BigQueryClients clients =
+          BigQueryClients.acquire(conf, jobDetails.getTableProperties())) {
+        tempTableInfo =
+            clients
+                .getBigQueryClient()
+                .createTempTable(
+                    TableId.of(
+                        destTableId.getProject(),
+                        destTableId.getDataset(),
+                        destTableId.getTable() + "-" + HiveUtils.getQueryId(conf) + "-"),
+                    jobDetails.getBigquerySchema());
+      }
       // Set the temp table as the job's output table
       jobDetails.setTableId(tempTableInfo.getTableId());
       LOG.info("Insert overwrite temporary table {} ", tempTableInfo.getTableId());
@@ -379,13 +394,9 @@ public class BigQueryMetaHook {
     }
     if (!HiveUtils.isExternalTable(table) && deleteData) {
       // This is a managed table, so let's delete the table in BigQuery
-      Injector injector =
-          Guice.createInjector(
-              new BigQueryClientModule(),
-              new HiveBigQueryConnectorModule(conf, table.getParameters()));
-      BigQueryClient bqClient = injector.getInstance(BigQueryClient.class);
-      HiveBigQueryConfig opts = injector.getInstance(HiveBigQueryConfig.class);
-      bqClient.deleteTable(opts.getTableId());
+      try (BigQueryClients clients = BigQueryClients.acquire(conf, table.getParameters())) {
+        clients.getBigQueryClient().deleteTable(clients.getConfig().getTableId());
+      }
     }
   }
 
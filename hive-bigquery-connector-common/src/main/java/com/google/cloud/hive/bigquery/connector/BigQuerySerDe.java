@@ -16,6 +16,7 @@
 package com.google.cloud.hive.bigquery.connector;
 
 import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
+import com.google.cloud.hive.bigquery.connector.input.arrow.ArrowStructObjectInspector;
 import java.util.*;
 import javax.annotation.Nullable;
 import org.apache.hadoop.conf.Configuration;
@@ -29,7 +30,7 @@ import org.apache.hadoop.io.Writable;
 
 /**
  * Simple SerDe class that just wraps the already-serialized object into a ObjectWritable. The
- * actual (de)serialization operations are delegated to the `AvroSerializer`, `AvroDeserializer`,
+ * actual (de)serialization operations are delegated to the `AvroRowDecoder`, `AvroDeserializer`,
  * `ArrowSerializer`, and `ProtoDeserializer` classes.
  */
 public class BigQuerySerDe extends AbstractSerDe {
@@ -75,6 +76,14 @@ public class BigQuerySerDe extends AbstractSerDe {
   public void initialize(@Nullable Configuration configuration, Properties tableProperties)
       throws SerDeException {
     this.rowObjectInspector = getRowObjectInspector(tableProperties);
+    String readDataFormat =
+        configuration == null
+            ? HiveBigQueryConfig.ARROW
+            : configuration.get(HiveBigQueryConfig.READ_DATA_FORMAT_KEY, HiveBigQueryConfig.ARROW);
+    if (readDataFormat.equalsIgnoreCase(HiveBigQueryConfig.ARROW)) {
+      // Lets Hive decode the Arrow values lazily, only for the fields that it accesses
+      this.rowObjectInspector = new ArrowStructObjectInspector(this.rowObjectInspector);
+    }
   }
 
   @Override
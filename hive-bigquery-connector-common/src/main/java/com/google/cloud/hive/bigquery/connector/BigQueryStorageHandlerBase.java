@@ -19,13 +19,14 @@ import com.google.cloud.bigquery.Schema;
 import com.google.cloud.bigquery.TableInfo;
 import com.google.cloud.bigquery.connector.common.BigQueryClient;
 import com.google.cloud.bigquery.connector.common.BigQueryClient.CreateTableOptions;
-import com.google.cloud.bigquery.connector.common.BigQueryClientModule;
 import com.google.cloud.bigquery.connector.common.BigQueryConnectorException.InvalidSchemaException;
 import com.google.cloud.bigquery.connector.common.BigQueryCredentialsSupplier;
 import com.google.cloud.bigquery.connector.common.BigQueryUtil;
+import com.google.cloud.hive.bigquery.connector.config.BigQueryClients;
 import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
-import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConnectorModule;
+import com.google.cloud.hive.bigquery.connector.input.BigQueryFilters;
 import com.google.cloud.hive.bigquery.connector.input.BigQueryInputFormat;
+import com.google.cloud.hive.bigquery.connector.input.ReadSessionCoordinator;
 import com.google.cloud.hive.bigquery.connector.output.BigQueryOutputCommitter;
 import com.google.cloud.hive.bigquery.connector.output.BigQueryOutputFormat;
 import com.google.cloud.hive.bigquery.connector.output.FailureExecHook;
@@ -35,8 +36,6 @@ import com.google.cloud.hive.bigquery.connector.utils.bq.BigQuerySchemaConverter
 import com.google.cloud.hive.bigquery.connector.utils.hcatalog.HCatalogUtils;
 import com.google.cloud.hive.bigquery.connector.utils.hive.HiveUtils;
 import com.google.common.base.Preconditions;
-import com.google.inject.Guice;
-import com.google.inject.Injector;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
@@ -104,10 +103,12 @@ public abstract class BigQueryStorageHandlerBase
   @Override
   public DecomposedPredicate decomposePredicate(
       JobConf jobConf, Deserializer deserializer, ExprNodeDesc exprNodeDesc) {
-    // TODO: See if we can dissociate the pushed predicates from the residual ones
     DecomposedPredicate predicate = new DecomposedPredicate();
-    predicate.residualPredicate = (ExprNodeGenericFuncDesc) exprNodeDesc;
+    // The whole predicate is pushed, and BigQuery evaluates as much of it as it can. Hive then only
+    // needs to evaluate the conjuncts that BigQuery may not evaluate exactly like Hive.
     predicate.pushedPredicate = (ExprNodeGenericFuncDesc) exprNodeDesc;
+    predicate.residualPredicate =
+        BigQueryFilters.getResidualFilter((ExprNodeGenericFuncDesc) exprNodeDesc);
     return predicate;
   }
 
@@ -162,6 +163,10 @@ public abstract class BigQueryStorageHandlerBase
     }
     // Keep track of the table so we can properly clean things up later in the output committer
     registerOutputTable(tableDesc);
+    if (conf.getBoolean(HiveBigQueryConfig.READ_SESSION_PREFETCH_KEY, false)) {
+      // Start creating the read sessions while the query is being submitted
+      ReadSessionCoordinator.createReadSessions(jobConf);
+    }
   }
 
   /**
@@ -229,6 +234,13 @@ public abstract class BigQueryStorageHandlerBase
       return;
     }
 
+    if (tableProperties.getProperty(HiveBigQueryConfig.QUERY_KEY) != null) {
+      throw new RuntimeException(
+          String.format(
+              "Cannot write to a table defined by the `%s` table property.",
+              HiveBigQueryConfig.QUERY_KEY));
+    }
+
     String engine = HiveConf.getVar(conf, HiveConf.ConfVars.HIVE_EXECUTION_ENGINE).toLowerCase();
     if (engine.equals("mr")) {
       // A workaround for mr mode, as MapRedTask.execute resets mapred.output.committer.class
@@ -259,11 +271,9 @@ public abstract class BigQueryStorageHandlerBase
         BigQueryUtil.parseTableId(tableProperties.getProperty(HiveBigQueryConfig.TABLE_KEY)));
 
     if (opts.getWriteMethod().equals(HiveBigQueryConfig.WRITE_METHOD_INDIRECT)) {
-      Injector injector =
-          Guice.createInjector(
-              new BigQueryClientModule(), new HiveBigQueryConnectorModule(conf, tableProperties));
-      configureJobDetailsForIndirectWrite(
-          opts, jobDetails, injector.getInstance(BigQueryCredentialsSupplier.class));
+      try (BigQueryClients clients = BigQueryClients.acquire(conf, tableProperties)) {
+        configureJobDetailsForIndirectWrite(opts, jobDetails, clients.getCredentialsSupplier());
+      }
     }
 
     try {
@@ -280,31 +290,31 @@ public abstract class BigQueryStorageHandlerBase
    * This function determines whether the destination table exists: if it doesn't, then create it.
    */
   public void createBigQueryTableIfNotExist(JobDetails jobDetails) throws IllegalArgumentException {
-    Injector injector =
-        Guice.createInjector(new BigQueryClientModule(), new HiveBigQueryConnectorModule(conf));
-    BigQueryClient bqClient = injector.getInstance(BigQueryClient.class);
-    HiveBigQueryConfig opts = injector.getInstance(HiveBigQueryConfig.class);
-    if (bqClient.tableExists(jobDetails.getTableId())) {
-      // Check that the destination table's schema matches that of the insert query
-      TableInfo destinationTable = bqClient.getTable(jobDetails.getTableId());
-      Schema destinationTableSchema = destinationTable.getDefinition().getSchema();
-      Preconditions.checkArgument(
-          BigQueryUtil.schemaWritable(
-              jobDetails.getBigquerySchema(),
-              destinationTableSchema,
-              false, /* regardFieldOrder */
-              opts.getEnableModeCheckForSchemaFields()),
-          new InvalidSchemaException(
-              "Destination table's schema is not compatible with query's schema"));
-      jobDetails.setDeleteTableOnAbort(false);
-    } else {
-      jobDetails.setDeleteTableOnAbort(true);
-      bqClient
-          .createTable(
-              jobDetails.getTableId(),
-              jobDetails.getBigquerySchema(),
-              CreateTableOptions.of(opts.getKmsKeyName(), Collections.emptyMap()))
-          .getTableId();
+    try (BigQueryClients clients = BigQueryClients.acquire(conf)) {
+      BigQueryClient bqClient = clients.getBigQueryClient();
+      HiveBigQueryConfig opts = clients.getConfig();
+      if (bqClient.tableExists(jobDetails.getTableId())) {
+        // Check that the destination table's schema matches that of the insert query
+        TableInfo destinationTable = bqClient.getTable(jobDetails.getTableId());
+        Schema destinationTableSchema = destinationTable.getDefinition().getSchema();
+        Preconditions.checkArgument(
+            BigQueryUtil.schemaWritable(
+                jobDetails.getBigquerySchema(),
+                destinationTableSchema,
+                false, /* regardFieldOrder */
+                opts.getEnableModeCheckForSchemaFields()),
+            new InvalidSchemaException(
+                "Destination table's schema is not compatible with query's schema"));
+        jobDetails.setDeleteTableOnAbort(false);
+      } else {
+        jobDetails.setDeleteTableOnAbort(true);
+        bqClient
+            .createTable(
+                jobDetails.getTableId(),
+                jobDetails.getBigquerySchema(),
+                CreateTableOptions.of(opts.getKmsKeyName(), Collections.emptyMap()))
+            .getTableId();
+      }
     }
   }
 
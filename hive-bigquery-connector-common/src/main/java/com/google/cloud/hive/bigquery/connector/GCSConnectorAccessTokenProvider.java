@@ -16,12 +16,9 @@
 package com.google.cloud.hive.bigquery.connector;
 
 import com.google.auth.oauth2.GoogleCredentials;
-import com.google.cloud.bigquery.connector.common.BigQueryClientModule;
 import com.google.cloud.bigquery.connector.common.BigQueryCredentialsSupplier;
 import com.google.cloud.hadoop.util.AccessTokenProvider;
-import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConnectorModule;
-import com.google.inject.Guice;
-import com.google.inject.Injector;
+import com.google.cloud.hive.bigquery.connector.config.BigQueryClients;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
@@ -95,9 +92,9 @@ public class GCSConnectorAccessTokenProvider implements AccessTokenProvider {
   @Override
   public void setConf(Configuration configuration) {
     conf = configuration;
-    Injector injector =
-        Guice.createInjector(new BigQueryClientModule(), new HiveBigQueryConnectorModule(conf));
-    credentialsSupplier = injector.getInstance(BigQueryCredentialsSupplier.class);
+    try (BigQueryClients clients = BigQueryClients.acquire(conf)) {
+      credentialsSupplier = clients.getCredentialsSupplier();
+    }
   }
 
   @Override
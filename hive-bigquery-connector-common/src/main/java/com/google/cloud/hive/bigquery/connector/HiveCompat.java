@@ -32,7 +32,9 @@ import java.util.*;
 import org.apache.avro.Schema;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.common.type.HiveIntervalDayTime;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.hive.ql.plan.LimitDesc;
 import org.apache.hadoop.hive.ql.udf.*;
 import org.apache.hadoop.hive.ql.udf.generic.*;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
@@ -493,4 +495,19 @@ public abstract class HiveCompat {
   }
 
   public abstract ExprNodeGenericFuncDesc deserializeExpression(String s);
+
+  public abstract String serializeExpression(ExprNodeGenericFuncDesc expr);
+
+  /** Returns the number of rows that the given LIMIT clause skips. */
+  public int getLimitOffset(LimitDesc limitDesc) {
+    return limitDesc.getOffset() == null ? 0 : limitDesc.getOffset();
+  }
+
+  /**
+   * Returns true if the given expression is a value that Hive only computes while the query runs,
+   * e.g. a bound of a dynamic semijoin reduction. Not supported before Hive 2.2.
+   */
+  public boolean isDynamicValue(ExprNodeDesc expr) {
+    return false;
+  }
 }
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.config;
+
+import com.google.api.gax.rpc.HeaderProvider;
+import com.google.cloud.bigquery.connector.common.BigQueryClient;
+import com.google.cloud.bigquery.connector.common.BigQueryClientFactory;
+import com.google.cloud.bigquery.connector.common.BigQueryClientModule;
+import com.google.cloud.bigquery.connector.common.BigQueryCredentialsSupplier;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.conf.Configuration;
+
+/**
+ * Gives access to the BigQuery clients (and their credentials) that match a given configuration.
+ *
+ * <p>Creating the clients is costly, as it resolves the credentials and opens new HTTP/gRPC
+ * connections, so the clients are shared by all the callers in the JVM that use the same effective
+ * client settings: credentials, impersonation, project, endpoints, proxy, etc. Callers must close
+ * the returned instance once they are done with the clients. Clients that haven't been used for a
+ * while are then dropped the next time clients are requested.
+ *
+ * <p>The {@link HiveBigQueryConfig} returned by {@link #getConfig()} is always specific to the
+ * caller's configuration and table parameters.
+ */
+public class BigQueryClients implements AutoCloseable {
+
+  static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+  private static final Map<List<Object>, Entry> entries = new HashMap<>();
+
+  private final Entry entry;
+  private final HiveBigQueryConfig opts;
+  private boolean closed = false;
+
+  private BigQueryClients(Entry entry, HiveBigQueryConfig opts) {
+    this.entry = entry;
+    this.opts = opts;
+  }
+
+  public static BigQueryClients acquire(Configuration conf) {
+    return acquire(conf, (Map<String, String>) null);
+  }
+
+  public static BigQueryClients acquire(Configuration conf, Properties tableProperties) {
+    return acquire(conf, HiveBigQueryConfig.convertPropertiesToMap(tableProperties));
+  }
+
+  public static BigQueryClients acquire(Configuration conf, Map<String, String> tableParameters) {
+    HiveBigQueryConfig opts = HiveBigQueryConfig.from(conf, tableParameters);
+    List<Object> key = getClientKey(opts);
+    Entry entry;
+    synchronized (entries) {
+      evictIdleEntries(System.currentTimeMillis());
+      entry = entries.get(key);
+      if (entry == null) {
+        // The injector only sees the settings of the key, not the caller's configuration
+        entry =
+            new Entry(
+                Guice.createInjector(
+                    new BigQueryClientModule(),
+                    new HiveBigQueryConnectorModule(opts.copyClientSettings())));
+        entries.put(key, entry);
+      }
+      entry.refCount++;
+    }
+    return new BigQueryClients(entry, opts);
+  }
+
+  /** Returns the settings that determine how the clients are created and authenticated. */
+  @VisibleForTesting
+  static List<Object> getClientKey(HiveBigQueryConfig opts) {
+    return Arrays.asList(
+        opts.getCredentialsKey(),
+        opts.getCredentialsFile(),
+        opts.getAccessToken(),
+        opts.getAccessTokenProviderFQCN(),
+        opts.getAccessTokenProviderConfig(),
+        opts.getLoggedInUserName(),
+        opts.getLoggedInUserGroups(),
+        opts.getImpersonationServiceAccountsForUsers(),
+        opts.getImpersonationServiceAccountsForGroups(),
+        opts.getImpersonationServiceAccount(),
+        opts.getParentProjectId(),
+        opts.useParentProjectForMetadataOperations(),
+        opts.isViewsEnabled(),
+        opts.getBigQueryStorageGrpcEndpoint(),
+        opts.getBigQueryHttpEndpoint(),
+        opts.getBigQueryProxyConfig(),
+        opts.getBigQueryClientConnectTimeout(),
+        opts.getBigQueryClientReadTimeout(),
+        opts.getBigQueryClientRetrySettings(),
+        opts.getCreateReadSessionTimeoutInSeconds(),
+        opts.getFlowControlWindowBytes(),
+        opts.getMaterializationProject(),
+        opts.getMaterializationDataset(),
+        opts.getBigQueryJobLabels(),
+        opts.getQueryJobPriority(),
+        opts.getGpn());
+  }
+
+  /**
+   * Only drops the idle entries from the registry. Their gRPC clients are cached by
+   * bigquery-connector-common for all the equal client factories, including the ones that the
+   * splits and the direct writers carry, so they are left to the library.
+   */
+  @VisibleForTesting
+  static void evictIdleEntries(long now) {
+    synchronized (entries) {
+      Iterator<Entry> iterator = entries.values().iterator();
+      while (iterator.hasNext()) {
+        Entry entry = iterator.next();
+        if (entry.refCount == 0 && now - entry.idleSinceMillis > IDLE_TIMEOUT_MILLIS) {
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  static int getNumEntries() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public HiveBigQueryConfig getConfig() {
+    return opts;
+  }
+
+  public BigQueryClient getBigQueryClient() {
+    return entry.getBigQueryClient();
+  }
+
+  public BigQueryClientFactory getBigQueryClientFactory() {
+    return entry.getBigQueryClientFactory();
+  }
+
+  public BigQueryCredentialsSupplier getCredentialsSupplier() {
+    return entry.injector.getInstance(BigQueryCredentialsSupplier.class);
+  }
+
+  public HeaderProvider getHeaderProvider() {
+    return entry.injector.getInstance(HeaderProvider.class);
+  }
+
+  @Override
+  public void close() {
+    synchronized (entries) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      entry.refCount--;
+      if (entry.refCount == 0) {
+        entry.idleSinceMillis = System.currentTimeMillis();
+      }
+    }
+  }
+
+  private static class Entry {
+    private final Injector injector;
+    // Created lazily, then reused by all the callers
+    private volatile BigQueryClient bqClient;
+    private volatile BigQueryClientFactory bqClientFactory;
+    private int refCount = 0;
+    private long idleSinceMillis;
+
+    Entry(Injector injector) {
+      this.injector = injector;
+    }
+
+    synchronized BigQueryClient getBigQueryClient() {
+      if (bqClient == null) {
+        bqClient = injector.getInstance(BigQueryClient.class);
+      }
+      return bqClient;
+    }
+
+    synchronized BigQueryClientFactory getBigQueryClientFactory() {
+      if (bqClientFactory == null) {
+        bqClientFactory = injector.getInstance(BigQueryClientFactory.class);
+      }
+      return bqClientFactory;
+    }
+  }
+}
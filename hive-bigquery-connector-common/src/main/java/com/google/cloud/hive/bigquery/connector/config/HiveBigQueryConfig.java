@@ -58,6 +58,20 @@ public class HiveBigQueryConfig
   public static final String WORK_DIR_NAME_PREFIX_DEFAULT = "hive-bq-";
   public static final String READ_DATA_FORMAT_KEY = "bq.read.data.format";
   public static final String READ_CREATE_SESSION_TIMEOUT_KEY = "bq.read.create.session.timeout";
+  public static final String READ_ARROW_MEMORY_LIMIT_KEY = "bq.read.arrow.memory.limit";
+  public static final String READ_PREFETCH_BATCHES_KEY = "bq.read.prefetch.batches";
+  public static final String READ_STREAMS_PER_SPLIT_KEY = "bq.read.streams.per.split";
+  public static final String READ_ARROW_COMPRESSION_CODEC_KEY = "bq.read.arrow.compression.codec";
+  public static final String READ_STREAM_SPLIT_FRACTION_KEY = "bq.read.stream.split.fraction";
+  public static final String READ_SESSION_CACHE_TTL_SECONDS_KEY =
+      "bq.read.session.cache.ttl.seconds";
+  public static final String READ_TARGET_BYTES_PER_SPLIT_KEY = "bq.read.target.bytes.per.split";
+  public static final String READ_SESSION_PREFETCH_KEY = "bq.read.session.prefetch";
+  public static final String READ_SESSION_CREATION_THREADS_KEY =
+      "bq.read.session.creation.threads";
+  public static final int DEFAULT_READ_SESSION_CREATION_THREADS = 8;
+  public static final String READ_SINGLE_STREAM_LIMIT_KEY = "bq.read.single.stream.limit";
+  public static final String READ_METADATA_ROW_COUNT_KEY = "bq.read.metadata.row.count";
   public static final String READ_MAX_PARALLELISM = "maxParallelism";
   public static final String READ_PREFERRED_PARALLELISM = "preferredMinParallelism";
   public static final String CREDENTIALS_KEY_KEY = "bq.credentials.key";
@@ -89,6 +103,7 @@ public class HiveBigQueryConfig
   public static final String TIME_PARTITION_REQUIRE_FILTER_KEY = "bq.time.partition.require.filter";
   public static final String CLUSTERED_FIELDS_KEY = "bq.clustered.fields";
   public static final String TABLE_KEY = "bq.table";
+  public static final String QUERY_KEY = "bq.query";
 
   // Pseudo columns in BigQuery for ingestion time partitioned tables
   public static final String PARTITION_TIME_PSEUDO_COLUMN = "_PARTITIONTIME";
@@ -124,6 +139,7 @@ public class HiveBigQueryConfig
   public static final String FORCED_COMMIT_FAILURE_ERROR_MESSAGE = "Forced commit failure";
 
   TableId tableId;
+  Optional<String> query = empty();
   Optional<String> traceId = empty();
 
   // Credentials management
@@ -177,6 +193,7 @@ public class HiveBigQueryConfig
   // Parallelism
   Integer maxParallelism = null;
   Integer preferredMinParallelism = null;
+  private Optional<Long> targetBytesPerSplit = empty();
 
   // Misc
   private Optional<Integer> flowControlWindowBytes = empty();
@@ -205,6 +222,13 @@ public class HiveBigQueryConfig
   private int numStreamsPerPartition = MIN_STREAMS_PER_PARTITION;
   public static final int MIN_STREAMS_PER_PARTITION = 1;
   private CompressionCodec arrowCompressionCodec = CompressionCodec.COMPRESSION_UNSPECIFIED;
+  public static final long DEFAULT_READ_SESSION_CACHE_TTL_SECONDS = 300;
+  private long readSessionCacheTtlSeconds = DEFAULT_READ_SESSION_CACHE_TTL_SECONDS;
+  private double streamSplitFraction = 0;
+  private boolean readSessionPrefetch = false;
+  public static final long DEFAULT_READ_SINGLE_STREAM_LIMIT = 1_000;
+  private long singleStreamLimit = DEFAULT_READ_SINGLE_STREAM_LIMIT;
+  private boolean readMetadataRowCount = false;
 
   HiveBigQueryConfig() {
     // empty
@@ -305,6 +329,46 @@ public class HiveBigQueryConfig
         getOption(READ_MAX_PARALLELISM, conf).transform(Integer::parseInt).orNull();
     opts.preferredMinParallelism =
         getOption(READ_PREFERRED_PARALLELISM, conf).transform(Integer::parseInt).orNull();
+    opts.targetBytesPerSplit =
+        getOption(READ_TARGET_BYTES_PER_SPLIT_KEY, conf).transform(Long::parseLong);
+    if (opts.targetBytesPerSplit.isPresent() && opts.targetBytesPerSplit.get() <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid target bytes per split: " + opts.targetBytesPerSplit.get());
+    }
+    String arrowCompressionCodec =
+        getOption(READ_ARROW_COMPRESSION_CODEC_KEY, tableParameters, conf)
+            .or(CompressionCodec.COMPRESSION_UNSPECIFIED.name())
+            .toUpperCase();
+    try {
+      opts.arrowCompressionCodec = CompressionCodec.valueOf(arrowCompressionCodec);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          "Invalid Arrow compression codec: " + arrowCompressionCodec, e);
+    }
+    opts.numStreamsPerPartition =
+        Math.max(
+            MIN_STREAMS_PER_PARTITION,
+            getOption(READ_STREAMS_PER_SPLIT_KEY, conf)
+                .transform(Integer::parseInt)
+                .or(MIN_STREAMS_PER_PARTITION));
+    opts.streamSplitFraction =
+        getOption(READ_STREAM_SPLIT_FRACTION_KEY, conf).transform(Double::parseDouble).or(0.0);
+    if (opts.streamSplitFraction < 0 || opts.streamSplitFraction >= 1) {
+      throw new IllegalArgumentException(
+          "Invalid stream split fraction: " + opts.streamSplitFraction);
+    }
+    opts.readSessionCacheTtlSeconds =
+        getOption(READ_SESSION_CACHE_TTL_SECONDS_KEY, conf)
+            .transform(Long::parseLong)
+            .or(DEFAULT_READ_SESSION_CACHE_TTL_SECONDS);
+    opts.readSessionPrefetch =
+        Boolean.parseBoolean(getOption(READ_SESSION_PREFETCH_KEY, conf).or("false"));
+    opts.singleStreamLimit =
+        getOption(READ_SINGLE_STREAM_LIMIT_KEY, conf)
+            .transform(Long::parseLong)
+            .or(DEFAULT_READ_SINGLE_STREAM_LIMIT);
+    opts.readMetadataRowCount =
+        Boolean.parseBoolean(getOption(READ_METADATA_ROW_COUNT_KEY, conf).or("false"));
 
     // Credentials management
     opts.credentialsKey = getOption(CREDENTIALS_KEY_KEY, conf);
@@ -340,6 +404,13 @@ public class HiveBigQueryConfig
     if (bqTable.isPresent()) {
       opts.tableId = BigQueryUtil.parseTableId(bqTable.get());
     }
+    opts.query = getOption(QUERY_KEY, tableParameters, conf);
+    if (opts.query.isPresent() && !opts.materializationDataset.isPresent()) {
+      throw new IllegalArgumentException(
+          "The `materializationDataset` property must be set to read the results of `"
+              + QUERY_KEY
+              + "`");
+    }
 
     // KMS
     opts.destinationTableKmsKeyName =
@@ -383,6 +454,18 @@ public class HiveBigQueryConfig
     return tableId;
   }
 
+  /**
+   * Points the configuration at another table, e.g. at the temporary table that holds the results
+   * of the `bq.query` query.
+   */
+  public void setTableId(TableId tableId) {
+    this.tableId = tableId;
+  }
+
+  public java.util.Optional<String> getQuery() {
+    return query.toJavaUtil();
+  }
+
   @Override
   public java.util.Optional<CreateDisposition> getCreateDisposition() {
     return createDisposition.toJavaUtil();
@@ -530,6 +613,10 @@ public class HiveBigQueryConfig
     return materializationDataset.toJavaUtil();
   }
 
+  public int getMaterializationExpirationTimeInMinutes() {
+    return materializationExpirationTimeInMinutes;
+  }
+
   @Override
   public int getBigQueryClientConnectTimeout() {
     return DEFAULT_BIGQUERY_CLIENT_CONNECT_TIMEOUT; // TODO: Make configurable
@@ -570,6 +657,10 @@ public class HiveBigQueryConfig
     return readDataFormat;
   }
 
+  public CompressionCodec getArrowCompressionCodec() {
+    return arrowCompressionCodec;
+  }
+
   @Override
   public ImmutableMap<String, String> getBigQueryJobLabels() {
     return bigQueryJobLabels;
@@ -614,6 +705,40 @@ public class HiveBigQueryConfig
         : OptionalInt.of(preferredMinParallelism);
   }
 
+  /** Sets the number of streams to request for read sessions. */
+  public void setParallelism(int preferredMinParallelism, int maxParallelism) {
+    this.preferredMinParallelism = preferredMinParallelism;
+    this.maxParallelism = maxParallelism;
+  }
+
+  public java.util.Optional<Long> getTargetBytesPerSplit() {
+    return targetBytesPerSplit.toJavaUtil();
+  }
+
+  public double getStreamSplitFraction() {
+    return streamSplitFraction;
+  }
+
+  public long getReadSessionCacheTtlSeconds() {
+    return readSessionCacheTtlSeconds;
+  }
+
+  public boolean isReadSessionPrefetch() {
+    return readSessionPrefetch;
+  }
+
+  public long getSingleStreamLimit() {
+    return singleStreamLimit;
+  }
+
+  public boolean isReadMetadataRowCount() {
+    return readMetadataRowCount;
+  }
+
+  public int getNumStreamsPerPartition() {
+    return numStreamsPerPartition;
+  }
+
   public java.util.Optional<String> getTraceId() {
     return traceId.toJavaUtil();
   }
@@ -679,4 +804,37 @@ public class HiveBigQueryConfig
   public java.util.Optional<String> getGpn() {
     return gpn.toJavaUtil();
   }
+
+  /**
+   * Returns a copy that only holds the settings used to create and authenticate the BigQuery
+   * clients, i.e. the settings of {@link BigQueryClients#getClientKey}. The other settings keep
+   * their defaults, so the shared clients don't depend on the table or query of the first caller.
+   */
+  HiveBigQueryConfig copyClientSettings() {
+    HiveBigQueryConfig copy = new HiveBigQueryConfig();
+    copy.credentialsKey = credentialsKey;
+    copy.credentialsFile = credentialsFile;
+    copy.accessToken = accessToken;
+    copy.accessTokenProviderFQCN = accessTokenProviderFQCN;
+    copy.accessTokenProviderConfig = accessTokenProviderConfig;
+    copy.loggedInUserName = loggedInUserName;
+    copy.loggedInUserGroups = loggedInUserGroups;
+    copy.impersonationServiceAccountsForUsers = impersonationServiceAccountsForUsers;
+    copy.impersonationServiceAccountsForGroups = impersonationServiceAccountsForGroups;
+    copy.impersonationServiceAccount = impersonationServiceAccount;
+    copy.parentProjectId = parentProjectId;
+    copy.useParentProjectForMetadataOperations = useParentProjectForMetadataOperations;
+    copy.viewsEnabled = viewsEnabled;
+    copy.bigQueryStorageGrpcEndpoint = bigQueryStorageGrpcEndpoint;
+    copy.bigQueryHttpEndpoint = bigQueryHttpEndpoint;
+    copy.proxyConfig = proxyConfig;
+    copy.createReadSessionTimeoutInSeconds = createReadSessionTimeoutInSeconds;
+    copy.flowControlWindowBytes = flowControlWindowBytes;
+    copy.materializationProject = materializationProject;
+    copy.materializationDataset = materializationDataset;
+    copy.bigQueryJobLabels = bigQueryJobLabels;
+    copy.queryJobPriority = queryJobPriority;
+    copy.gpn = gpn;
+    return copy;
+  }
 }
@@ -38,11 +38,18 @@ public class HiveBigQueryConnectorModule implements Module {
 
   private final Configuration conf;
   private Map<String, String> tableParameters;
+  private HiveBigQueryConfig opts;
 
   public HiveBigQueryConnectorModule(Configuration conf) {
     this.conf = conf;
   }
 
+  /** Uses the given config as is, without keeping a reference to any Hadoop configuration. */
+  public HiveBigQueryConnectorModule(HiveBigQueryConfig opts) {
+    this.conf = null;
+    this.opts = opts;
+  }
+
   public HiveBigQueryConnectorModule(Configuration conf, Map<String, String> tableParameters) {
     this.conf = conf;
     this.tableParameters = tableParameters;
@@ -63,6 +70,9 @@ public class HiveBigQueryConnectorModule implements Module {
   @Singleton
   @Provides
   public HiveBigQueryConfig provideHiveBigQueryConfig() {
+    if (opts != null) {
+      return opts;
+    }
     return HiveBigQueryConfig.from(conf, tableParameters);
   }
 
@@ -18,11 +18,13 @@ package com.google.cloud.hive.bigquery.connector.input;
 import com.google.cloud.hive.bigquery.connector.HiveCompat;
 import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
 import com.google.cloud.hive.bigquery.connector.input.udfs.*;
+import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.ql.plan.*;
 import org.apache.hadoop.hive.ql.udf.generic.*;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
 
 public abstract class BigQueryFilters {
 
@@ -97,6 +99,93 @@ public abstract class BigQueryFilters {
       ExprNodeFieldDesc fieldDesc = ((ExprNodeFieldDesc) filterExpr);
       return new BigQueryFieldDesc(fieldDesc);
     }
+    if (HiveCompat.getInstance().isDynamicValue(filterExpr)) {
+      // A runtime value, e.g. a min/max bound of a dynamic semijoin reduction. Hive only computes
+      // it while the tasks run, after the read session is created, so it is left to Hive.
+      return null;
+    }
     throw new RuntimeException("Unexpected filter type: " + filterExpr);
   }
+
+  /**
+   * Returns the conjuncts of the given filter expression that BigQuery can't evaluate exactly like
+   * Hive, and that Hive therefore still needs to evaluate on the rows read from BigQuery. Returns
+   * null if BigQuery evaluates the whole expression exactly.
+   */
+  public static ExprNodeGenericFuncDesc getResidualFilter(ExprNodeGenericFuncDesc filterExpr) {
+    List<ExprNodeDesc> conjuncts = new ArrayList<>();
+    collectConjuncts(filterExpr, conjuncts);
+    List<ExprNodeDesc> residualConjuncts = new ArrayList<>();
+    for (ExprNodeDesc conjunct : conjuncts) {
+      if (!isEvaluatedExactly(conjunct)) {
+        residualConjuncts.add(conjunct);
+      }
+    }
+    if (residualConjuncts.isEmpty()) {
+      return null;
+    }
+    if (residualConjuncts.size() == conjuncts.size()) {
+      return filterExpr;
+    }
+    if (residualConjuncts.size() == 1) {
+      // Columns, fields and constants are always evaluated exactly, so this is a function
+      return (ExprNodeGenericFuncDesc) residualConjuncts.get(0);
+    }
+    return new ExprNodeGenericFuncDesc(
+        TypeInfoFactory.booleanTypeInfo, new GenericUDFOPAnd(), residualConjuncts);
+  }
+
+  private static void collectConjuncts(ExprNodeDesc expr, List<ExprNodeDesc> conjuncts) {
+    if (expr instanceof ExprNodeGenericFuncDesc
+        && ((ExprNodeGenericFuncDesc) expr).getGenericUDF() instanceof GenericUDFOPAnd) {
+      for (ExprNodeDesc child : expr.getChildren()) {
+        collectConjuncts(child, conjuncts);
+      }
+    } else {
+      conjuncts.add(expr);
+    }
+  }
+
+  /**
+   * The UDFs that BigQuery evaluates exactly like Hive. Other translated UDFs may differ in edge
+   * cases, e.g. Hive's TRIM only strips spaces while BigQuery's strips all whitespace, so Hive must
+   * still evaluate them.
+   */
+  private static final ImmutableSet<Class<? extends GenericUDF>> EXACT_UDFS =
+      ImmutableSet.of(
+          GenericUDFOPEqual.class,
+          GenericUDFOPNotEqual.class,
+          GenericUDFOPGreaterThan.class,
+          GenericUDFOPLessThan.class,
+          GenericUDFOPEqualOrGreaterThan.class,
+          GenericUDFOPEqualOrLessThan.class,
+          GenericUDFOPAnd.class,
+          GenericUDFOPOr.class,
+          GenericUDFOPNot.class,
+          GenericUDFIn.class,
+          GenericUDFBetween.class,
+          GenericUDFOPNull.class,
+          GenericUDFOPNotNull.class);
+
+  /**
+   * Returns true if BigQuery evaluates the given expression exactly like Hive, i.e. if it only
+   * applies the {@link #EXACT_UDFS} to columns, fields and constants. This doesn't modify the expression,
+   * unlike {@link #translateFilters}.
+   */
+  private static boolean isEvaluatedExactly(ExprNodeDesc expr) {
+    if (expr instanceof ExprNodeGenericFuncDesc) {
+      if (!EXACT_UDFS.contains(((ExprNodeGenericFuncDesc) expr).getGenericUDF().getClass())) {
+        return false;
+      }
+      for (ExprNodeDesc child : expr.getChildren()) {
+        if (!isEvaluatedExactly(child)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return expr instanceof ExprNodeColumnDesc
+        || expr instanceof ExprNodeConstantDesc
+        || expr instanceof ExprNodeFieldDesc;
+  }
 }
@@ -57,11 +57,14 @@ public class BigQueryInputFormat
       InputJobInfo inputJobInfo = HCatalogUtils.getHCatalogInputJobInfo(jobConf);
       HCatalogUtils.updateHadoopConfForHCatalog(jobConf, inputJobInfo.getTableInfo());
     }
+    if (((BigQueryInputSplit) inputSplit).getMetadataRowCount() >= 0) {
+      return new RowCountRecordReader((BigQueryInputSplit) inputSplit);
+    }
     DataFormat readDataFormat = HiveBigQueryConfig.from(jobConf).getReadDataFormat();
     if (readDataFormat.equals(DataFormat.ARROW)) {
-      return new ArrowRecordReader((BigQueryInputSplit) inputSplit, jobConf);
+      return new ArrowRecordReader((BigQueryInputSplit) inputSplit, jobConf, reporter);
     } else {
-      return new AvroRecordReader((BigQueryInputSplit) inputSplit, jobConf);
+      return new AvroRecordReader((BigQueryInputSplit) inputSplit, jobConf, reporter);
     }
   }
 
@@ -17,17 +17,18 @@ package com.google.cloud.hive.bigquery.connector.input;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.cloud.bigquery.TableId;
+import com.google.cloud.bigquery.TableInfo;
 import com.google.cloud.bigquery.connector.common.*;
-import com.google.cloud.bigquery.storage.v1.ReadRowsRequest;
 import com.google.cloud.bigquery.storage.v1.ReadSession;
 import com.google.cloud.hive.bigquery.connector.HiveCompat;
+import com.google.cloud.hive.bigquery.connector.config.BigQueryClients;
 import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
-import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConnectorModule;
+import com.google.cloud.hive.bigquery.connector.utils.bq.BigQueryUtils;
 import com.google.cloud.hive.bigquery.connector.utils.hive.HiveUtils;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import com.google.inject.Guice;
-import com.google.inject.Injector;
+import com.google.common.collect.Lists;
 import java.io.*;
 import java.io.DataInput;
 import java.io.DataOutput;
@@ -38,10 +39,12 @@ import java.util.*;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.conf.HiveConf;
 import org.apache.hadoop.hive.metastore.api.hive_metastoreConstants;
+import org.apache.hadoop.hive.ql.exec.Operator;
 import org.apache.hadoop.hive.ql.io.HiveInputFormat.HiveInputSplit;
 import org.apache.hadoop.hive.ql.metadata.VirtualColumn;
 import org.apache.hadoop.hive.ql.plan.*;
 import org.apache.hadoop.hive.serde.serdeConstants;
+import org.apache.hadoop.hive.serde2.ColumnProjectionUtils;
 import org.apache.hadoop.hive.serde2.SerDeUtils;
 import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.mapred.FileSplit;
@@ -50,16 +53,34 @@ import org.apache.hadoop.mapred.JobConf;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Hadoop split that reads from one or more BigQuery read streams. When a split carries multiple
+ * streams (see the `bq.read.streams.per.split` property), those streams are read concurrently and
+ * their responses are merged into a single sequence by the ReadRowsHelper.
+ *
+ * <p>When the query doesn't need any of the table's columns, e.g. for a `SELECT COUNT(*)` without
+ * a filter, the splits don't carry any streams but instead a number of empty rows to produce, which
+ * are counted from the table's metadata (see the `bq.read.metadata.row.count` property).
+ */
 public class BigQueryInputSplit extends HiveInputSplit implements Writable {
   private static final Logger LOG = LoggerFactory.getLogger(BigQueryInputSplit.class);
 
-  private ReadRowsHelper readRowsHelper;
   private Path warehouseLocation;
-  private String streamName;
+  private List<String> streamNames;
   private List<String> columnNames;
   private BigQueryClientFactory bqClientFactory;
   private HiveBigQueryConfig opts;
   private long hiveSplitLength;
+  // Estimated number of rows of the split's streams, or -1 if the split reads a single stream
+  private long estimatedRowCount = -1;
+  // Maximum number of rows that the query needs from the split, or -1 if unlimited
+  private long rowLimit = -1;
+  // Number of empty rows that the split produces without reading from BigQuery, or -1 if the split
+  // reads its streams
+  private long metadataRowCount = -1;
+
+  // Minimum number of rows produced by each split when the rows are counted from the metadata
+  private static final long MIN_ROWS_PER_METADATA_SPLIT = 1_000_000;
 
   @VisibleForTesting
   public BigQueryInputSplit() {
@@ -68,13 +89,13 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
 
   public BigQueryInputSplit(
       Path warehouseLocation,
-      String streamName,
+      List<String> streamNames,
       List<String> columnNames,
       BigQueryClientFactory bqClientFactory,
       HiveBigQueryConfig opts) {
     super();
     this.warehouseLocation = warehouseLocation;
-    this.streamName = streamName;
+    this.streamNames = streamNames;
     this.columnNames = columnNames;
     this.bqClientFactory = bqClientFactory;
     this.opts = opts;
@@ -110,8 +131,14 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
   /** Serializes the instance's attributes to a sequence of bytes */
   public void write(DataOutput out) throws IOException {
     out.writeUTF(warehouseLocation.toString());
-    out.writeUTF(streamName);
+    out.writeInt(streamNames.size());
+    for (String streamName : streamNames) {
+      out.writeUTF(streamName);
+    }
     out.writeLong(hiveSplitLength);
+    out.writeLong(estimatedRowCount);
+    out.writeLong(rowLimit);
+    out.writeLong(metadataRowCount);
     byte[] columnNamesAsBytes = String.join(",", columnNames).getBytes(StandardCharsets.UTF_8);
     out.writeInt(columnNamesAsBytes.length);
     out.write(columnNamesAsBytes);
@@ -122,8 +149,15 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
   /** Hydrates the instance's attributes from the given sequence of bytes */
   public void readFields(DataInput in) throws IOException {
     warehouseLocation = new Path(in.readUTF());
-    streamName = in.readUTF();
+    int numStreams = in.readInt();
+    streamNames = new ArrayList<>(numStreams);
+    for (int i = 0; i < numStreams; i++) {
+      streamNames.add(in.readUTF());
+    }
     hiveSplitLength = in.readLong();
+    estimatedRowCount = in.readLong();
+    rowLimit = in.readLong();
+    metadataRowCount = in.readLong();
     int length = in.readInt();
     byte[] columnNamesAsBytes = new byte[length];
     in.readFully(columnNamesAsBytes);
@@ -136,6 +170,26 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
     this.hiveSplitLength = hiveSplitLength;
   }
 
+  public void setEstimatedRowCount(long estimatedRowCount) {
+    this.estimatedRowCount = estimatedRowCount;
+  }
+
+  public void setRowLimit(long rowLimit) {
+    this.rowLimit = rowLimit;
+  }
+
+  public long getRowLimit() {
+    return rowLimit;
+  }
+
+  /**
+   * Returns the number of empty rows that the split produces without reading from BigQuery, or -1
+   * if the split reads its streams.
+   */
+  public long getMetadataRowCount() {
+    return metadataRowCount;
+  }
+
   @Override
   public long getLength() {
     return this.hiveSplitLength;
@@ -154,11 +208,24 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
 
   @Override
   public String toString() {
-    return String.format("warehouseLocation=%s, streamName=%s", warehouseLocation, streamName);
+    if (metadataRowCount >= 0) {
+      return String.format(
+          "warehouseLocation=%s, metadataRowCount=%d", warehouseLocation, metadataRowCount);
+    }
+    return String.format("warehouseLocation=%s, streamNames=%s", warehouseLocation, streamNames);
   }
 
-  public String getStreamName() {
-    return this.streamName;
+  public List<String> getStreamNames() {
+    return this.streamNames;
+  }
+
+  /** Returns a short name that identifies the split, for example to name its resources. */
+  public String getName() {
+    if (streamNames.isEmpty()) {
+      return "metadata";
+    }
+    String name = streamNames.get(0);
+    return streamNames.size() == 1 ? name : name + "+" + (streamNames.size() - 1);
   }
 
   public List<String> getColumnNames() {
@@ -166,12 +233,139 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
   }
 
   public static InputSplit[] createSplitsFromBigQueryReadStreams(JobConf jobConf, int numSplits) {
-    Injector injector =
-        Guice.createInjector(new BigQueryClientModule(), new HiveBigQueryConnectorModule(jobConf));
-    BigQueryClient bqClient = injector.getInstance(BigQueryClient.class);
-    BigQueryClientFactory bqClientFactory = injector.getInstance(BigQueryClientFactory.class);
-    HiveBigQueryConfig opts = injector.getInstance(HiveBigQueryConfig.class);
+    // Create the sessions of the other BigQuery scans in the same map work at the same time
+    ReadSessionCoordinator.createReadSessions(jobConf);
+    try (BigQueryClients clients = BigQueryClients.acquire(jobConf)) {
+      return createSplitsFromBigQueryReadStreams(jobConf, numSplits, clients);
+    }
+  }
+
+  private static InputSplit[] createSplitsFromBigQueryReadStreams(
+      JobConf jobConf, int numSplits, BigQueryClients clients) {
+    BigQueryClientFactory bqClientFactory = clients.getBigQueryClientFactory();
+    HiveBigQueryConfig opts = clients.getConfig();
+    materializeQuery(jobConf, clients);
+
+    List<String> columnNames = getColumnNames(jobConf);
+    Scan scan = new Scan(jobConf, columnNames);
+    Set<String> selectedFields = scan.selectedFields;
+    ExprNodeGenericFuncDesc filterExpr = scan.filterExpr;
+    long rowLimit = scan.rowLimit;
+    if (scan.noColumnsNeeded && filterExpr == null && opts.isReadMetadataRowCount()) {
+      // The query only needs the number of rows, e.g. for a `SELECT COUNT(*)`, so count them from
+      // the table's metadata instead of reading them
+      TableInfo tableInfo = clients.getBigQueryClient().getTable(opts.getTableId());
+      OptionalLong rowCount = BigQueryUtils.getExactRowCount(tableInfo);
+      if (rowCount.isPresent()) {
+        InputSplit[] splits =
+            createMetadataSplits(
+                jobConf,
+                numSplits,
+                rowCount.getAsLong(),
+                tableInfo.getNumBytes() == null ? 0 : tableInfo.getNumBytes(),
+                columnNames,
+                bqClientFactory,
+                opts);
+        for (InputSplit split : splits) {
+          ((BigQueryInputSplit) split).setRowLimit(rowLimit);
+        }
+        return splits;
+      }
+    }
+
+    ReadSession readSession =
+        getReadSession(jobConf, numSplits, clients, opts, selectedFields, filterExpr, rowLimit);
+    InputSplit[] splits =
+        createSplits(jobConf, numSplits, readSession, columnNames, bqClientFactory, opts);
+    for (InputSplit split : splits) {
+      ((BigQueryInputSplit) split).setRowLimit(rowLimit);
+    }
+    return splits;
+  }
+
+  private static InputSplit[] createSplits(
+      JobConf jobConf,
+      int numSplits,
+      ReadSession readSession,
+      List<String> columnNames,
+      BigQueryClientFactory bqClientFactory,
+      HiveBigQueryConfig opts) {
+    Path tableLocation = new Path(jobConf.get(hive_metastoreConstants.META_TABLE_LOCATION));
+    // To-Do: replace when each ReadStream has size estimation.
+    long totalSize = readSession.getEstimatedTotalBytesScanned();
+    int streamsCount = readSession.getStreamsCount();
+    List<String> streamNames = new ArrayList<>(streamsCount);
+    readSession.getStreamsList().forEach(readStream -> streamNames.add(readStream.getName()));
+    int streamsPerSplit = opts.getNumStreamsPerPartition();
+    if (streamsPerSplit == 1 && opts.getTargetBytesPerSplit().isPresent()) {
+      return packStreamsIntoSplits(
+          tableLocation,
+          streamNames,
+          totalSize,
+          readSession.getEstimatedRowCount(),
+          opts.getTargetBytesPerSplit().get(),
+          columnNames,
+          bqClientFactory,
+          opts);
+    }
+    long hiveSplitSize = getHiveSplitLength(jobConf, totalSize, streamsCount, numSplits);
+    if (streamsPerSplit > 1) {
+      LOG.info("Grouping {} streams into splits of {} streams", streamsCount, streamsPerSplit);
+    }
+    return Lists.partition(streamNames, streamsPerSplit).stream()
+        .map(
+            group -> {
+              BigQueryInputSplit split =
+                  new BigQueryInputSplit(
+                      tableLocation, new ArrayList<>(group), columnNames, bqClientFactory, opts);
+              split.setHiveSplitLength(hiveSplitSize * group.size());
+              if (group.size() > 1) {
+                split.setEstimatedRowCount(
+                    readSession.getEstimatedRowCount() * group.size() / streamsCount);
+              }
+              return split;
+            })
+        .toArray(FileSplit[]::new);
+  }
+
+  /**
+   * Creates splits that produce the given number of empty rows between them, without reading from
+   * BigQuery. The rows are spread over several splits if there are many of them, so that the
+   * operators that follow the scan, e.g. a partial aggregation, can still run in parallel.
+   */
+  private static InputSplit[] createMetadataSplits(
+      JobConf jobConf,
+      int numSplits,
+      long rowCount,
+      long tableBytes,
+      List<String> columnNames,
+      BigQueryClientFactory bqClientFactory,
+      HiveBigQueryConfig opts) {
+    Path tableLocation = new Path(jobConf.get(hive_metastoreConstants.META_TABLE_LOCATION));
+    int count =
+        (int) Math.max(1, Math.min(Math.max(numSplits, 1), rowCount / MIN_ROWS_PER_METADATA_SPLIT));
+    LOG.info(
+        "Counted {} rows from the metadata of table {}, so using {} splits without read streams",
+        rowCount,
+        opts.getTableId(),
+        count);
+    InputSplit[] splits = new InputSplit[count];
+    for (int i = 0; i < count; i++) {
+      BigQueryInputSplit split =
+          new BigQueryInputSplit(
+              tableLocation, new ArrayList<>(), columnNames, bqClientFactory, opts);
+      // Spread the remainder of the division over the first splits
+      split.metadataRowCount = rowCount / count + (i < rowCount % count ? 1 : 0);
+      // The engines expect a length in bytes, e.g. to group the splits, so report the split's
+      // share of the table's size
+      split.setHiveSplitLength(
+          rowCount == 0 ? 0 : (long) ((double) tableBytes * split.metadataRowCount / rowCount));
+      splits[i] = split;
+    }
+    return splits;
+  }
 
+  private static List<String> getColumnNames(JobConf jobConf) {
     // Retrieve the table's column names
     String columnNameDelimiter =
         jobConf.get(
@@ -184,18 +378,23 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
     columnNames.removeAll(getVirtualColumnNames());
     // BigQuery column names are case insensitive, hive colum names are lower cased
     columnNames.replaceAll(String::toLowerCase);
+    return columnNames;
+  }
 
-    // Figure out which columns to select from the table
-    Set<String> selectedFields;
-    String engine = HiveConf.getVar(jobConf, HiveConf.ConfVars.HIVE_EXECUTION_ENGINE);
-    if (engine.equals("mr") && HiveUtils.isMRJob(jobConf)) {
-      // To-Do: a workaround for HIVE-27115, remove when fix available.
-      List<String> neededFields = getMRColumnProjections(jobConf);
-      selectedFields =
-          neededFields.isEmpty() ? new HashSet<>(columnNames) : new HashSet<>(neededFields);
-    } else {
-      selectedFields = new HashSet<>(Arrays.asList(HiveUtils.getReadColumnNames(jobConf)));
-    }
+  /**
+   * Returns the read session for the given columns and filter, creating it unless the scan can
+   * share a session that is cached or being created, e.g. by {@link #createReadSession}.
+   */
+  private static ReadSession getReadSession(
+      JobConf jobConf,
+      int numSplits,
+      BigQueryClients clients,
+      HiveBigQueryConfig opts,
+      Set<String> selectedFields,
+      ExprNodeGenericFuncDesc filterExpr,
+      long rowLimit) {
+    BigQueryClient bqClient = clients.getBigQueryClient();
+    BigQueryClientFactory bqClientFactory = clients.getBigQueryClientFactory();
 
     // Fix the BigQuery pseudo columns, if present, as Hive uses lowercase column names
     // whereas BigQuery expects the uppercase names.
@@ -218,11 +417,8 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
             opts.getTableId().getTable()));
 
     // If possible, translate filters to be compatible with BigQuery
-    String serializedFilterExpr = jobConf.get(TableScanDesc.FILTER_EXPR_CONF_STR);
-    ExprNodeGenericFuncDesc filterExpr;
     Optional<String> filter = Optional.empty();
-    if (serializedFilterExpr != null) {
-      filterExpr = HiveCompat.getInstance().deserializeExpression(serializedFilterExpr);
+    if (filterExpr != null) {
       LOG.info("filter expression: {}", filterExpr);
       ExprNodeGenericFuncDesc translatedFilterExpr =
           (ExprNodeGenericFuncDesc) BigQueryFilters.translateFilters(filterExpr, jobConf);
@@ -236,49 +432,226 @@ public class BigQueryInputSplit extends HiveInputSplit implements Writable {
         opts.getTableId(),
         selectedFields,
         filter);
+    if (rowLimit >= 0
+        && rowLimit <= opts.getSingleStreamLimit()
+        && !filter.isPresent()
+        && !opts.getMaxParallelism().isPresent()
+        && !opts.getPreferredMinParallelism().isPresent()) {
+      // The query only needs a few rows, so a single stream is enough. With a selective filter, a
+      // single stream might have to scan most of the table to find them.
+      LOG.info("Using a single stream to read up to {} rows", rowLimit);
+      opts.setParallelism(1, 1);
+    }
+    if (opts.getTargetBytesPerSplit().isPresent()
+        && !opts.getMaxParallelism().isPresent()
+        && !opts.getPreferredMinParallelism().isPresent()) {
+      // Pick the number of streams from the amount of data to read and the cluster capacity
+      OptionalLong estimatedBytes =
+          BigQueryUtils.estimateBytesToRead(bqClient, opts.getTableId(), selectedFields);
+      if (estimatedBytes.isPresent()) {
+        ReadParallelism parallelism =
+            ReadParallelism.compute(
+                estimatedBytes.getAsLong(), opts.getTargetBytesPerSplit().get(), numSplits);
+        LOG.info(
+            "Estimated {} bytes to read with a capacity of {} tasks, so using {}",
+            estimatedBytes.getAsLong(),
+            numSplits,
+            parallelism);
+        opts.setParallelism(
+            parallelism.getPreferredMinParallelism(), parallelism.getMaxParallelism());
+      }
+    }
+
     ReadSessionCreatorConfig readSessionCreatorConfig = opts.toReadSessionCreatorConfig();
     ReadSessionCreator readSessionCreator =
         new ReadSessionCreator(readSessionCreatorConfig, bqClient, bqClientFactory);
+    // Scans of the same table, projection and filter in the query can share the same read session
+    ReadSessionCache.Key cacheKey =
+        new ReadSessionCache.Key(
+            HiveUtils.getQueryId(jobConf), opts.getTableId(), selectedFields, filter, opts);
+    Optional<String> sessionFilter = filter;
     ReadSessionResponse readSessionResponse =
-        readSessionCreator.create(opts.getTableId(), ImmutableList.copyOf(selectedFields), filter);
-    ReadSession readSession = readSessionResponse.getReadSession();
+        ReadSessionCache.getOrCreate(
+            cacheKey,
+            opts.getReadSessionCacheTtlSeconds(),
+            () ->
+                readSessionCreator.create(
+                    opts.getTableId(), ImmutableList.copyOf(selectedFields), sessionFilter));
+    return readSessionResponse.getReadSession();
+  }
 
-    Path tableLocation = new Path(jobConf.get(hive_metastoreConstants.META_TABLE_LOCATION));
-    // To-Do: replace when each ReadStream has size estimation.
-    long totalSize = readSession.getEstimatedTotalBytesScanned();
-    int streamsCount = readSession.getStreamsCount();
-    long hiveSplitSize = getHiveSplitLength(jobConf, totalSize, streamsCount, numSplits);
-    return readSession.getStreamsList().stream()
+  /**
+   * Creates the read session for the table scan of the given job configuration, unless it is
+   * already cached or being created, so that a later {@link #createSplitsFromBigQueryReadStreams}
+   * call for the same scan picks up the session from the {@link ReadSessionCache}. This is used by
+   * the {@link ReadSessionCoordinator} to create the sessions of several scans concurrently. Does
+   * nothing if the session couldn't be shared with the scan.
+   */
+  public static void createReadSession(JobConf jobConf) {
+    try (BigQueryClients clients = BigQueryClients.acquire(jobConf)) {
+      HiveBigQueryConfig opts = clients.getConfig();
+      if (opts.getReadSessionCacheTtlSeconds() <= 0 || opts.getTargetBytesPerSplit().isPresent()) {
+        // The session's stream counts would depend on the number of splits
+        return;
+      }
+      materializeQuery(jobConf, clients);
+      Scan scan = new Scan(jobConf, getColumnNames(jobConf));
+      if (scan.noColumnsNeeded && scan.filterExpr == null && opts.isReadMetadataRowCount()) {
+        // The scan's rows will likely be counted from the table's metadata
+        return;
+      }
+      getReadSession(
+          jobConf, 0, clients, opts, scan.selectedFields, scan.filterExpr, scan.rowLimit);
+    }
+  }
+
+  /**
+   * The columns, filter and row limit of the table scan of a job configuration, which determine
+   * the scan's read session. Both the splits computation and the {@link ReadSessionCoordinator}
+   * derive them here, so that they share the same session.
+   */
+  private static class Scan {
+    final Set<String> selectedFields;
+    final boolean noColumnsNeeded;
+    final ExprNodeGenericFuncDesc filterExpr;
+    final long rowLimit;
+
+    Scan(JobConf jobConf, List<String> columnNames) {
+      // Figure out which columns to select from the table
+      String engine = HiveConf.getVar(jobConf, HiveConf.ConfVars.HIVE_EXECUTION_ENGINE);
+      if (engine.equals("mr") && HiveUtils.isMRJob(jobConf)) {
+        // To-Do: a workaround for HIVE-27115, remove when fix available.
+        List<String> neededFields = getMRColumnProjections(jobConf);
+        selectedFields =
+            neededFields.isEmpty() ? new HashSet<>(columnNames) : new HashSet<>(neededFields);
+        noColumnsNeeded = false;
+      } else {
+        selectedFields = new HashSet<>(Arrays.asList(HiveUtils.getReadColumnNames(jobConf)));
+        noColumnsNeeded =
+            selectedFields.isEmpty()
+                && !jobConf.getBoolean(ColumnProjectionUtils.READ_ALL_COLUMNS, true);
+      }
+
+      String serializedFilterExpr = jobConf.get(TableScanDesc.FILTER_EXPR_CONF_STR);
+      filterExpr =
+          serializedFilterExpr == null
+              ? null
+              : HiveCompat.getInstance().deserializeExpression(serializedFilterExpr);
+
+      rowLimit = getRowLimit(jobConf);
+    }
+  }
+
+  /**
+   * Runs the query of a table defined by the `bq.query` property, unless its results were already
+   * materialized for the current Hive query, and points the configuration at the temporary table
+   * that holds the results. The results are then read like any other table, so BigQuery does the
+   * joins and aggregations of the query and only the resulting rows are read by Hive.
+   */
+  private static void materializeQuery(JobConf jobConf, BigQueryClients clients) {
+    HiveBigQueryConfig opts = clients.getConfig();
+    if (!opts.getQuery().isPresent()) {
+      return;
+    }
+    String query = opts.getQuery().get();
+    TableId tableId =
+        QueryResultsCache.getOrMaterialize(
+            HiveUtils.getQueryId(jobConf),
+            query,
+            () -> BigQueryUtils.materializeQuery(clients.getBigQueryClient(), query, opts));
+    LOG.info("Reading the results of query `{}` from {}", query, tableId);
+    opts.setTableId(tableId);
+  }
+
+  /**
+   * Packs the streams into splits that each read about the target number of bytes. The splits
+   * report their actual estimated length, so that Tez can still group them correctly if its
+   * grouping settings ask for larger groups.
+   */
+  private static InputSplit[] packStreamsIntoSplits(
+      Path tableLocation,
+      List<String> streamNames,
+      long totalSize,
+      long totalRowCount,
+      long targetBytesPerSplit,
+      List<String> columnNames,
+      BigQueryClientFactory bqClientFactory,
+      HiveBigQueryConfig opts) {
+    int streamsCount = streamNames.size();
+    // The streams of a session are balanced by the BigQuery service, and the API doesn't
+    // provide a size estimate per stream, so they are all assumed to be of the average size.
+    long avgStreamSize = streamsCount == 0 ? totalSize : totalSize / streamsCount;
+    int numGroups = StreamPacker.getNumSplits(totalSize, streamsCount, targetBytesPerSplit);
+    List<List<String>> groups = StreamPacker.pack(streamNames, name -> avgStreamSize, numGroups);
+    LOG.info(
+        "Packed {} streams into {} splits, with totalSize={} and targetBytesPerSplit={}",
+        streamsCount,
+        groups.size(),
+        totalSize,
+        targetBytesPerSplit);
+    return groups.stream()
         .map(
-            readStream -> {
+            group -> {
               BigQueryInputSplit split =
-                  new BigQueryInputSplit(
-                      tableLocation, readStream.getName(), columnNames, bqClientFactory, opts);
-              split.setHiveSplitLength(hiveSplitSize);
+                  new BigQueryInputSplit(tableLocation, group, columnNames, bqClientFactory, opts);
+              split.setHiveSplitLength(avgStreamSize * group.size());
+              if (group.size() > 1) {
+                split.setEstimatedRowCount(totalRowCount * group.size() / streamsCount);
+              }
               return split;
             })
         .toArray(FileSplit[]::new);
   }
 
   /**
-   * Creates and returns a ReadRowsHelper from the bigquery-connector-common library. The helper
-   * takes care of reading data from the split's BQ stream.
+   * Creates a reader for the split's BQ streams. The reader relies on a ReadRowsHelper from the
+   * bigquery-connector-common library, which reads the streams concurrently if there are several.
+   */
+  public DynamicStreamReader createStreamReader() {
+    return new DynamicStreamReader(
+        bqClientFactory,
+        streamNames,
+        opts.toReadSessionCreatorConfig().toReadRowsHelperOptions(),
+        opts.getStreamSplitFraction(),
+        rowLimit);
+  }
+
+  /** Creates the tracker of the read progress through the split. */
+  public ReadProgress createReadProgress() {
+    return new ReadProgress(hiveSplitLength, estimatedRowCount);
+  }
+
+  /**
+   * Returns the maximum number of rows that the query needs from the table, if all the table's
+   * scans in the current map work are only followed by a LIMIT clause, or -1 otherwise.
    */
-  public ReadRowsHelper getReadRowsHelper() {
-    if (readRowsHelper == null) {
-      ReadRowsRequest.Builder request =
-          ReadRowsRequest.newBuilder().setReadStream(checkNotNull(getStreamName(), "name"));
-      readRowsHelper =
-          new ReadRowsHelper(
-              bqClientFactory,
-              ImmutableList.of(request),
-              opts.toReadSessionCreatorConfig().toReadRowsHelperOptions());
+  private static long getRowLimit(JobConf jobConf) {
+    String tableName = jobConf.get(hive_metastoreConstants.META_TABLE_NAME);
+    if (tableName == null || !HiveUtils.isMRJob(jobConf)) {
+      return -1;
+    }
+    MapWork mapWork = org.apache.hadoop.hive.ql.exec.Utilities.getMapWork(jobConf);
+    if (mapWork == null || mapWork.getAliasToPartnInfo() == null) {
+      return -1;
+    }
+    long rowLimit = -1;
+    for (Map.Entry<String, PartitionDesc> entry : mapWork.getAliasToPartnInfo().entrySet()) {
+      if (!tableName.equals(entry.getValue().getTableDesc().getTableName())) {
+        continue;
+      }
+      Operator<? extends OperatorDesc> tableScan = mapWork.getAliasToWork().get(entry.getKey());
+      long scanRowLimit = tableScan == null ? -1 : HiveUtils.getRowLimit(tableScan);
+      if (scanRowLimit < 0) {
+        return -1;
+      }
+      rowLimit = Math.max(rowLimit, scanRowLimit);
     }
-    return readRowsHelper;
+    return rowLimit;
   }
 
   /*
-  Split size affects mapper task parallelism.
+  Split size affects mapper task parallelism. Only used when the connector doesn't pack the streams
+  into splits itself, i.e. when `bq.read.target.bytes.per.split` isn't set.
    */
   private static long getHiveSplitLength(
       JobConf jobConf, long totalSize, int streamCount, int requestGrpCount) {
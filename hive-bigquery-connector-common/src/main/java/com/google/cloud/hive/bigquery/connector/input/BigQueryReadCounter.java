@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+/** Task counters reported by the record readers. */
+public enum BigQueryReadCounter {
+  /**
+   * High-water mark of the Arrow memory allocated while reading a split, in bytes. For a task that
+   * reads several splits, this is the highest of their high-water marks.
+   */
+  ARROW_PEAK_ALLOCATED_BYTES,
+  /** Number of batches that went through the prefetch queue. */
+  PREFETCHED_BATCHES,
+  /**
+   * Sum of the prefetch queue depths observed each time a batch was requested. Divide by
+   * PREFETCHED_BATCHES to get the average queue depth.
+   */
+  PREFETCH_QUEUE_DEPTH_SUM,
+  /** Time the background thread spent waiting for space in the prefetch queue. */
+  PREFETCH_PRODUCER_BLOCKED_MILLIS,
+  /** Time the reader spent waiting for the background thread to deliver a batch. */
+  PREFETCH_CONSUMER_BLOCKED_MILLIS
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
+import com.google.cloud.hive.bigquery.connector.input.arrow.ArrowVectorizedRecordReader;
+import com.google.cloud.hive.bigquery.connector.utils.hcatalog.HCatalogUtils;
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedInputFormatInterface;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatchCtx;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedSupport;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.ObjectWritable;
+import org.apache.hadoop.mapred.*;
+import org.apache.hive.hcatalog.mapreduce.InputJobInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Input format that additionally supports Hive's vectorized execution. When the query is
+ * vectorized, the Arrow batches read from BigQuery are copied directly into Hive VectorizedRowBatch
+ * objects. Otherwise, this behaves exactly like {@link BigQueryInputFormat}.
+ *
+ * <p>Note: This relies on APIs that are only available in Hive 3.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class BigQueryVectorizedInputFormat extends BigQueryInputFormat
+    implements VectorizedInputFormatInterface {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BigQueryVectorizedInputFormat.class);
+
+  @Override
+  public InputSplit[] getSplits(JobConf jobConf, int numSplits) {
+    if (Utilities.getVectorizedRowBatchCtx(jobConf) != null
+        && !jobConf
+            .get(HiveBigQueryConfig.READ_DATA_FORMAT_KEY, HiveBigQueryConfig.ARROW)
+            .equalsIgnoreCase(HiveBigQueryConfig.ARROW)) {
+      // Vectorized reads are only implemented for the Arrow format
+      LOG.info("Query is vectorized, so using the Arrow format to read from BigQuery");
+      jobConf = new JobConf(jobConf);
+      jobConf.set(HiveBigQueryConfig.READ_DATA_FORMAT_KEY, HiveBigQueryConfig.ARROW);
+    }
+    return super.getSplits(jobConf, numSplits);
+  }
+
+  @Override
+  public RecordReader<NullWritable, ObjectWritable> getRecordReader(
+      InputSplit inputSplit, JobConf jobConf, Reporter reporter) {
+    VectorizedRowBatchCtx rbCtx = Utilities.getVectorizedRowBatchCtx(jobConf);
+    if (rbCtx == null) {
+      return super.getRecordReader(inputSplit, jobConf, reporter);
+    }
+    if (HCatalogUtils.isHCatalogInputJob(jobConf)) {
+      InputJobInfo inputJobInfo = HCatalogUtils.getHCatalogInputJobInfo(jobConf);
+      HCatalogUtils.updateHadoopConfForHCatalog(jobConf, inputJobInfo.getTableInfo());
+    }
+    if (((BigQueryInputSplit) inputSplit).getMetadataRowCount() >= 0) {
+      return (RecordReader)
+          new RowCountVectorizedRecordReader((BigQueryInputSplit) inputSplit, rbCtx);
+    }
+    return (RecordReader)
+        new ArrowVectorizedRecordReader(
+            (BigQueryInputSplit) inputSplit, jobConf, rbCtx, reporter);
+  }
+
+  @Override
+  public VectorizedSupport.Support[] getSupportedFeatures() {
+    return new VectorizedSupport.Support[0];
+  }
+}
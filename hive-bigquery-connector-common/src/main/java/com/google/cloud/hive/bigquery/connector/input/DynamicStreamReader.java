@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import com.google.cloud.bigquery.connector.common.BigQueryClientFactory;
+import com.google.cloud.bigquery.connector.common.ReadRowsHelper;
+import com.google.cloud.bigquery.storage.v1.ReadRowsRequest;
+import com.google.cloud.bigquery.storage.v1.ReadRowsResponse;
+import com.google.cloud.bigquery.storage.v1.SplitReadStreamRequest;
+import com.google.cloud.bigquery.storage.v1.SplitReadStreamResponse;
+import com.google.cloud.bigquery.storage.v1.StreamStats;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over the Storage Read API responses of a split's streams.
+ *
+ * <p>If the `bq.read.stream.split.fraction` property is set, a split that reads a single stream
+ * splits that stream once it has read past the given fraction of it: the stream is divided, with
+ * `SplitReadStream`, in the middle of its unread portion, and the two halves are then read
+ * concurrently. This shortens the tail of the tasks that were assigned much larger streams than
+ * average, which happens when BigQuery's initial sizing of the streams is uneven. The two halves
+ * report their progress relative to themselves, so the progress of their responses is replaced by
+ * an estimate of the progress through the original stream.
+ *
+ * <p>If the query only needs a limited number of rows from the split, e.g. because of a LIMIT
+ * clause, the reader stops once it has returned that many rows, which cancels the streams.
+ */
+public class DynamicStreamReader implements Iterator<ReadRowsResponse>, AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DynamicStreamReader.class);
+
+  @VisibleForTesting static final double MAX_PROGRESS_AFTER_SPLIT = 0.99;
+
+  private final BigQueryClientFactory bqClientFactory;
+  private final ReadRowsHelper.Options readRowsHelperOptions;
+  private final String streamName;
+  private final double splitFraction;
+  private final long rowLimit;
+  // Number of rows returned so far
+  private long rowsRead = 0;
+  private ReadRowsHelper readRowsHelper;
+  private Iterator<ReadRowsResponse> responses;
+  // Number of rows read so far from the original stream
+  private long rowOffset = 0;
+  private boolean splitAttempted;
+  // Progress through the original stream when it was split, or -1 if it wasn't split
+  private double splitProgress = -1;
+  private boolean closed = false;
+
+  public DynamicStreamReader(
+      BigQueryClientFactory bqClientFactory,
+      List<String> streamNames,
+      ReadRowsHelper.Options readRowsHelperOptions,
+      double splitFraction,
+      long rowLimit) {
+    this.bqClientFactory = bqClientFactory;
+    this.readRowsHelperOptions = readRowsHelperOptions;
+    // Only single-stream splits are split dynamically, as the responses of multiple streams can't
+    // be told apart.
+    this.splitAttempted = splitFraction <= 0 || streamNames.size() != 1;
+    this.streamName = streamNames.get(0);
+    this.splitFraction = splitFraction;
+    this.rowLimit = rowLimit;
+    ImmutableList.Builder<ReadRowsRequest.Builder> requests = ImmutableList.builder();
+    for (String name : streamNames) {
+      requests.add(ReadRowsRequest.newBuilder().setReadStream(name));
+    }
+    this.readRowsHelper =
+        new ReadRowsHelper(bqClientFactory, requests.build(), readRowsHelperOptions);
+    this.responses = readRowsHelper.readRows();
+  }
+
+  @VisibleForTesting
+  DynamicStreamReader(Iterator<ReadRowsResponse> responses, long rowLimit) {
+    this.bqClientFactory = null;
+    this.readRowsHelperOptions = null;
+    this.streamName = null;
+    this.splitFraction = 0;
+    this.rowLimit = rowLimit;
+    this.splitAttempted = true;
+    this.responses = responses;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (rowLimit >= 0 && rowsRead >= rowLimit) {
+      return false;
+    }
+    return responses.hasNext();
+  }
+
+  @Override
+  public ReadRowsResponse next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    ReadRowsResponse response = responses.next();
+    long rowsBefore = rowsRead;
+    rowsRead += response.getRowCount();
+    if (splitProgress > 0) {
+      response =
+          response.toBuilder()
+              .setStats(getProgressStats(splitProgress, rowOffset, rowsBefore, rowsRead))
+              .build();
+    } else if (!splitAttempted) {
+      rowOffset += response.getRowCount();
+      double progress = response.getStats().getProgress().getAtResponseEnd();
+      if (progress >= splitFraction && progress < 1) {
+        splitAttempted = true;
+        split(progress);
+      }
+    }
+    return response;
+  }
+
+  /** Returns the fraction of the original stream that is halfway through its unread portion. */
+  @VisibleForTesting
+  static double getSplitPoint(double progress) {
+    return progress + (1 - progress) / 2;
+  }
+
+  /**
+   * Returns the progress through the original stream at the start and end of a response read
+   * after the split. The number of rows read before the split gives the stream's total number of
+   * rows, so the progress keeps increasing from where it was at the split. That total is only an
+   * estimate, so the progress stays below {@link #MAX_PROGRESS_AFTER_SPLIT} until the reader is
+   * done.
+   */
+  @VisibleForTesting
+  static StreamStats getProgressStats(
+      double splitProgress, long splitRowOffset, long rowsBefore, long rowsAfter) {
+    double rowsPerFraction = splitRowOffset / splitProgress;
+    return StreamStats.newBuilder()
+        .setProgress(
+            StreamStats.Progress.newBuilder()
+                .setAtResponseStart(
+                    Math.min(MAX_PROGRESS_AFTER_SPLIT, rowsBefore / rowsPerFraction))
+                .setAtResponseEnd(Math.min(MAX_PROGRESS_AFTER_SPLIT, rowsAfter / rowsPerFraction)))
+        .build();
+  }
+
+  /**
+   * Returns the requests that read the streams of a split: the primary stream from the rows that
+   * were already read from the original stream, and the remainder stream from its start.
+   */
+  @VisibleForTesting
+  static List<ReadRowsRequest.Builder> getSplitRequests(
+      String primaryStream, String remainderStream, long rowOffset) {
+    return ImmutableList.of(
+        ReadRowsRequest.newBuilder().setReadStream(primaryStream).setOffset(rowOffset),
+        ReadRowsRequest.newBuilder().setReadStream(remainderStream));
+  }
+
+  /**
+   * Splits the stream halfway through its unread portion, given the current progress, then reads
+   * the primary stream from the current position and the remainder stream from the start,
+   * concurrently.
+   */
+  private void split(double progress) {
+    double fraction = getSplitPoint(progress);
+    SplitReadStreamResponse splitResponse;
+    try {
+      splitResponse =
+          bqClientFactory
+              .getBigQueryReadClient()
+              .splitReadStream(
+                  SplitReadStreamRequest.newBuilder()
+                      .setName(streamName)
+                      .setFraction(fraction)
+                      .build());
+    } catch (RuntimeException e) {
+      // Not fatal: just keep reading the original stream
+      LOG.warn("Failed to split stream {}", streamName, e);
+      return;
+    }
+    if (!splitResponse.hasPrimaryStream() || !splitResponse.hasRemainderStream()) {
+      LOG.info("Stream {} can no longer be split", streamName);
+      return;
+    }
+    String primaryStream = splitResponse.getPrimaryStream().getName();
+    String remainderStream = splitResponse.getRemainderStream().getName();
+    LOG.info(
+        "Split stream {} at {} after {} rows, into {} and {}",
+        streamName,
+        fraction,
+        rowOffset,
+        primaryStream,
+        remainderStream);
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      readRowsHelper.close();
+      readRowsHelper =
+          new ReadRowsHelper(
+              bqClientFactory,
+              getSplitRequests(primaryStream, remainderStream, rowOffset),
+              readRowsHelperOptions);
+      responses = readRowsHelper.readRows();
+      if (rowOffset > 0) {
+        splitProgress = progress;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      if (readRowsHelper != null) {
+        readRowsHelper.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.hadoop.mapred.Reporter;
+
+/**
+ * Iterator that pulls the elements of a source iterator ahead of time from a background thread,
+ * and holds them in a bounded queue until they are consumed. This allows the (typically
+ * network-bound) work done by the source iterator to overlap with the work done by the consumer.
+ *
+ * <p>Elements that were fetched but never consumed are passed to the given discard action when the
+ * iterator is closed, so that any resources they hold can be released.
+ */
+public class PrefetchingIterator<T> implements Iterator<T>, AutoCloseable {
+
+  private static final Object END_OF_DATA = new Object();
+
+  private final BlockingQueue<Object> queue;
+  private final Consumer<T> discardAction;
+  private final Thread producer;
+  private volatile boolean closed = false;
+  private Object next;
+
+  // Metrics
+  private long producerBlockedNanos = 0;
+  private long consumerBlockedNanos = 0;
+  private long numElements = 0;
+  private long queueDepthSum = 0;
+
+  public PrefetchingIterator(
+      Iterator<T> source, int capacity, String name, Consumer<T> discardAction) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.discardAction = discardAction;
+    this.producer = new Thread(() -> produce(source), name);
+    this.producer.setDaemon(true);
+    this.producer.start();
+  }
+
+  private void produce(Iterator<T> source) {
+    Object element = null;
+    try {
+      while (!closed && source.hasNext()) {
+        element = source.next();
+        put(element);
+        element = null;
+      }
+      put(END_OF_DATA);
+    } catch (InterruptedException e) {
+      // The iterator was closed while waiting for space in the queue
+    } catch (Throwable t) {
+      if (!closed) {
+        try {
+          put(new Failure(t));
+        } catch (InterruptedException e) {
+          // The iterator was closed while waiting for space in the queue
+        }
+      }
+    } finally {
+      if (element != null) {
+        discard(element);
+      }
+    }
+  }
+
+  private void put(Object element) throws InterruptedException {
+    long start = System.nanoTime();
+    queue.put(element);
+    producerBlockedNanos += System.nanoTime() - start;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (next == null) {
+      long start = System.nanoTime();
+      // Number of elements that were ready before this one was requested
+      queueDepthSum += queue.size();
+      try {
+        next = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for the next element", e);
+      }
+      consumerBlockedNanos += System.nanoTime() - start;
+      if (next instanceof Failure) {
+        Throwable cause = ((Failure) next).cause;
+        next = END_OF_DATA;
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        }
+        throw new RuntimeException(cause);
+      }
+    }
+    return next != END_OF_DATA;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T element = (T) next;
+    next = null;
+    numElements++;
+    return element;
+  }
+
+  /**
+   * Stops the background thread and discards all the elements that were fetched but not consumed.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    producer.interrupt();
+    try {
+      producer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (next != null) {
+      discard(next);
+      next = null;
+    }
+    for (Object element : queue) {
+      discard(element);
+    }
+    queue.clear();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void discard(Object element) {
+    if (element != END_OF_DATA && !(element instanceof Failure)) {
+      discardAction.accept((T) element);
+    }
+  }
+
+  /** Reports the prefetching metrics as task counters. */
+  public void reportCounters(Reporter reporter) {
+    if (reporter == null) {
+      return;
+    }
+    reporter.incrCounter(BigQueryReadCounter.PREFETCHED_BATCHES, numElements);
+    reporter.incrCounter(BigQueryReadCounter.PREFETCH_QUEUE_DEPTH_SUM, queueDepthSum);
+    reporter.incrCounter(
+        BigQueryReadCounter.PREFETCH_PRODUCER_BLOCKED_MILLIS,
+        TimeUnit.NANOSECONDS.toMillis(producerBlockedNanos));
+    reporter.incrCounter(
+        BigQueryReadCounter.PREFETCH_CONSUMER_BLOCKED_MILLIS,
+        TimeUnit.NANOSECONDS.toMillis(consumerBlockedNanos));
+  }
+
+  private static class Failure {
+    private final Throwable cause;
+
+    Failure(Throwable cause) {
+      this.cause = cause;
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import com.google.cloud.bigquery.TableId;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of the temporary tables that hold the results of the `bq.query` queries. This
+ * lets the split computation, the read session prefetch and the read session coordinator of a Hive
+ * query share the results of a single query job.
+ *
+ * <p>Results are only shared within a given Hive query, so that every Hive query reads the current
+ * data of the queried BigQuery tables.
+ */
+public class QueryResultsCache {
+
+  private static final int MAX_ENTRIES = 100;
+
+  private static final Cache<List<String>, TableId> cache =
+      CacheBuilder.newBuilder().maximumSize(MAX_ENTRIES).expireAfterWrite(1, TimeUnit.HOURS).build();
+
+  /**
+   * Returns the table that holds the results of the given BigQuery query for the given Hive query,
+   * running the query with the given materializer if it hasn't run yet. Concurrent calls for the
+   * same key wait for a single query job.
+   */
+  public static TableId getOrMaterialize(
+      String hiveQueryId, String query, Supplier<TableId> materializer) {
+    try {
+      return cache.get(Arrays.asList(hiveQueryId, query), materializer::get);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    cache.invalidateAll();
+  }
+}
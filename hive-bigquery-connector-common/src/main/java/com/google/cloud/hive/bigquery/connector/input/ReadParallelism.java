@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+/**
+ * Picks the number of streams to request for a read session, based on the estimated amount of data
+ * to read and the capacity of the cluster. This is used when the `bq.read.target.bytes.per.split`
+ * property is set, unless `maxParallelism` or `preferredMinParallelism` are set explicitly.
+ *
+ * <p>The maximum number of streams is such that each stream reads about the target number of
+ * bytes, which keeps small reads from being spread across many mostly empty streams. The preferred
+ * minimum number of streams is the number of tasks that the cluster can run at once, without
+ * exceeding that maximum, so large reads keep all the available task slots busy.
+ */
+public class ReadParallelism {
+
+  private final int preferredMinParallelism;
+  private final int maxParallelism;
+
+  private ReadParallelism(int preferredMinParallelism, int maxParallelism) {
+    this.preferredMinParallelism = preferredMinParallelism;
+    this.maxParallelism = maxParallelism;
+  }
+
+  /**
+   * @param estimatedBytes Estimated number of bytes that the session will read
+   * @param targetBytesPerSplit Number of bytes that each split should ideally read
+   * @param capacity Number of tasks that the cluster can run at once, or 0 if unknown
+   */
+  public static ReadParallelism compute(
+      long estimatedBytes, long targetBytesPerSplit, int capacity) {
+    long desired = (estimatedBytes + targetBytesPerSplit - 1) / targetBytesPerSplit;
+    int maxParallelism = (int) Math.max(1, Math.min(desired, Integer.MAX_VALUE));
+    int preferredMinParallelism =
+        capacity > 0 ? Math.min(capacity, maxParallelism) : maxParallelism;
+    return new ReadParallelism(preferredMinParallelism, maxParallelism);
+  }
+
+  public int getPreferredMinParallelism() {
+    return preferredMinParallelism;
+  }
+
+  public int getMaxParallelism() {
+    return maxParallelism;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "preferredMinParallelism=%d, maxParallelism=%d", preferredMinParallelism, maxParallelism);
+  }
+}
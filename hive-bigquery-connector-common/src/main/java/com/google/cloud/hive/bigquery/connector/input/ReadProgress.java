@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import com.google.cloud.bigquery.storage.v1.ReadRowsResponse;
+import com.google.cloud.bigquery.storage.v1.StreamStats;
+
+/**
+ * Tracks how far a reader has progressed through its split.
+ *
+ * <p>Each BQ read response reports the fraction of its stream that was read at the start and at
+ * the end of the response. The progress is interpolated between those two fractions based on the
+ * number of rows of the response that were consumed so far.
+ *
+ * <p>When a split reads several streams concurrently, their responses are interleaved, and each one
+ * only reports the progress through its own stream. The progress is then the number of rows
+ * consumed so far over the estimated number of rows of the split instead, so that it never goes
+ * backwards.
+ */
+public class ReadProgress {
+
+  // The row count of a split is only an estimate, so the progress stays below 1 until it is read
+  static final double MAX_ESTIMATED_PROGRESS = 0.99;
+
+  private final long splitLength;
+  private final long estimatedRowCount;
+  private double atBatchStart = 0;
+  private double atBatchEnd = 0;
+  private long batchRowCount = 0;
+  private long batchRowsConsumed = 0;
+  private long rowsConsumed = 0;
+  private boolean finished = false;
+
+  public ReadProgress(long splitLength) {
+    this(splitLength, -1);
+  }
+
+  /**
+   * Creates the progress of a split of the given length. If the estimated row count is not
+   * negative, the progress is based on that row count instead of the progress of the responses.
+   */
+  public ReadProgress(long splitLength, long estimatedRowCount) {
+    this.splitLength = splitLength;
+    this.estimatedRowCount = estimatedRowCount;
+  }
+
+  /** Holds the progress information of a read response, as needed to start a new batch. */
+  public static class ResponseStats {
+    final double atResponseStart;
+    final double atResponseEnd;
+    final long rowCount;
+
+    public ResponseStats(ReadRowsResponse response) {
+      StreamStats.Progress progress = response.getStats().getProgress();
+      this.atResponseStart = progress.getAtResponseStart();
+      this.atResponseEnd = progress.getAtResponseEnd();
+      this.rowCount = response.getRowCount();
+    }
+  }
+
+  /** Called when the reader starts consuming the rows of a new response. */
+  public void startBatch(ResponseStats stats) {
+    atBatchStart = stats.atResponseStart;
+    atBatchEnd = Math.max(stats.atResponseStart, stats.atResponseEnd);
+    batchRowCount = stats.rowCount;
+    batchRowsConsumed = 0;
+  }
+
+  /** Called when the reader has handed out the given number of rows of the current batch. */
+  public void consumeRows(long numRows) {
+    batchRowsConsumed += numRows;
+    rowsConsumed += numRows;
+  }
+
+  /** Called when all the rows of the split have been consumed. */
+  public void finish() {
+    finished = true;
+  }
+
+  /** Returns the fraction of the split that was consumed, between 0 and 1. */
+  public float getProgress() {
+    if (finished) {
+      return 1.0f;
+    }
+    if (estimatedRowCount == 0) {
+      return 0.0f;
+    }
+    if (estimatedRowCount > 0) {
+      return (float) Math.min(MAX_ESTIMATED_PROGRESS, (double) rowsConsumed / estimatedRowCount);
+    }
+    double progress = atBatchStart;
+    if (batchRowCount > 0) {
+      progress +=
+          (atBatchEnd - atBatchStart) * Math.min(1.0, (double) batchRowsConsumed / batchRowCount);
+    }
+    return (float) Math.min(1.0, Math.max(0.0, progress));
+  }
+
+  /** Returns the estimated number of bytes of the split that were consumed. */
+  public long getPos() {
+    return (long) (getProgress() * splitLength);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import com.google.cloud.bigquery.TableId;
+import com.google.cloud.bigquery.connector.common.ReadSessionResponse;
+import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache of BigQuery read sessions. This lets the scans of the same table, with the
+ * same projection and filter, within a query (e.g. self-joins, UNION ALL branches, or CTEs) share a
+ * single read session instead of each paying for the creation of their own session.
+ *
+ * <p>Sessions are only shared within a given query, as all scans of a session see the table's data
+ * as of the session's creation time. Entries are evicted after `bq.read.session.cache.ttl.seconds`,
+ * which is kept well below the read sessions' own expiration time, or when the cache is full, the
+ * least recently used entries first.
+ */
+public class ReadSessionCache {
+
+  private static final int MAX_ENTRIES = 100;
+  // Read sessions expire after 6 hours, so never keep an entry longer than this
+  static final long MAX_TTL_SECONDS = TimeUnit.HOURS.toSeconds(1);
+
+  private static final Cache<Key, CachedSession> cache =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_ENTRIES)
+          .expireAfterWrite(MAX_TTL_SECONDS, TimeUnit.SECONDS)
+          .build();
+
+  /**
+   * Returns the cached read session for the given key if it is more recent than `ttlSeconds`.
+   * Otherwise, creates a new session with the given creator and caches it. Concurrent calls for the
+   * same key wait for a single session to be created. If `ttlSeconds` is 0, the cache is bypassed.
+   */
+  public static ReadSessionResponse getOrCreate(
+      Key key, long ttlSeconds, Supplier<ReadSessionResponse> creator) {
+    if (ttlSeconds <= 0) {
+      return creator.get();
+    }
+    long ttlMillis = TimeUnit.SECONDS.toMillis(Math.min(ttlSeconds, MAX_TTL_SECONDS));
+    try {
+      CachedSession cached =
+          cache.get(key, () -> new CachedSession(creator.get(), System.currentTimeMillis()));
+      if (System.currentTimeMillis() - cached.createdAtMillis > ttlMillis) {
+        // Too old for this caller's TTL, so replace it with a new session
+        cache.asMap().remove(key, cached);
+        cached = cache.get(key, () -> new CachedSession(creator.get(), System.currentTimeMillis()));
+      }
+      return cached.response;
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    cache.invalidateAll();
+  }
+
+  private static class CachedSession {
+    private final ReadSessionResponse response;
+    private final long createdAtMillis;
+
+    CachedSession(ReadSessionResponse response, long createdAtMillis) {
+      this.response = response;
+      this.createdAtMillis = createdAtMillis;
+    }
+  }
+
+  /** Identifies the read sessions that can be shared. */
+  public static class Key {
+    private final String queryId;
+    private final TableId tableId;
+    private final ImmutableSortedSet<String> selectedFields;
+    private final Optional<String> filter;
+    // The options that affect the read session's creation
+    private final String readSessionOptions;
+
+    public Key(
+        String queryId,
+        TableId tableId,
+        Set<String> selectedFields,
+        Optional<String> filter,
+        HiveBigQueryConfig opts) {
+      this.queryId = queryId;
+      this.tableId = tableId;
+      this.selectedFields = ImmutableSortedSet.copyOf(selectedFields);
+      this.filter = filter;
+      this.readSessionOptions =
+          String.join(
+              ",",
+              opts.getReadDataFormat().name(),
+              opts.getArrowCompressionCodec().name(),
+              String.valueOf(opts.getMaxParallelism()),
+              String.valueOf(opts.getPreferredMinParallelism()));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return queryId.equals(key.queryId)
+          && tableId.equals(key.tableId)
+          && selectedFields.equals(key.selectedFields)
+          && filter.equals(key.filter)
+          && readSessionOptions.equals(key.readSessionOptions);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(queryId, tableId, selectedFields, filter, readSessionOptions);
+    }
+  }
+}
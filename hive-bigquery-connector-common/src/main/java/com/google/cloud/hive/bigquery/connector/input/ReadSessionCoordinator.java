@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import com.google.cloud.hive.bigquery.connector.HiveCompat;
+import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
+import com.google.cloud.hive.bigquery.connector.utils.hive.HiveUtils;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hive.metastore.api.hive_metastoreConstants;
+import org.apache.hadoop.hive.ql.exec.Operator;
+import org.apache.hadoop.hive.ql.exec.TableScanOperator;
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
+import org.apache.hadoop.hive.ql.plan.MapWork;
+import org.apache.hadoop.hive.ql.plan.OperatorDesc;
+import org.apache.hadoop.hive.ql.plan.PartitionDesc;
+import org.apache.hadoop.hive.ql.plan.TableDesc;
+import org.apache.hadoop.hive.ql.plan.TableScanDesc;
+import org.apache.hadoop.hive.serde2.ColumnProjectionUtils;
+import org.apache.hadoop.mapred.JobConf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the read sessions of all the BigQuery table scans of a map work concurrently, on a
+ * bounded, process-wide pool of `bq.read.session.creation.threads` threads. Otherwise, a query that
+ * joins several BigQuery tables would create their sessions one after the other, as Hive computes
+ * the splits of each table in turn.
+ *
+ * <p>Only the scans of the current map work are known here, so this only helps the MapReduce
+ * engine, which puts all the scans of a map stage in the same map work. Tez scans each table in
+ * its own vertex, with its own map work, so its sessions are still created by each vertex.
+ *
+ * <p>The sessions are put in the {@link ReadSessionCache}, so that each scan then only waits for
+ * its own session when its splits are computed. The sessions are created from the same job
+ * configuration that Hive passes to the input format for each table, so that they match the
+ * sessions that the splits computation looks up.
+ */
+public class ReadSessionCoordinator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ReadSessionCoordinator.class);
+
+  private static ExecutorService executor;
+
+  // The scans for which the session creation was already started
+  private static final Cache<List<String>, Boolean> submittedScans =
+      CacheBuilder.newBuilder()
+          .expireAfterWrite(ReadSessionCache.MAX_TTL_SECONDS, TimeUnit.SECONDS)
+          .build();
+
+  /**
+   * Starts creating, in the background, the read sessions of all the BigQuery table scans in the
+   * map work of the given job, if any.
+   */
+  public static void createReadSessions(JobConf jobConf) {
+    MapWork mapWork;
+    try {
+      mapWork = Utilities.getMapWork(jobConf);
+    } catch (RuntimeException e) {
+      // Not a Hive job, e.g. when using HCatalog
+      return;
+    }
+    if (mapWork == null || mapWork.getAliasToPartnInfo() == null) {
+      return;
+    }
+    String queryId = HiveUtils.getQueryId(jobConf);
+    // The splits of this table are being computed, which already creates its session
+    String currentTable = jobConf.get(hive_metastoreConstants.META_TABLE_NAME);
+    Map<String, TableDesc> tableDescs = new LinkedHashMap<>();
+    Map<String, List<String>> tableAliases = new LinkedHashMap<>();
+    for (Map.Entry<String, PartitionDesc> entry : mapWork.getAliasToPartnInfo().entrySet()) {
+      String alias = entry.getKey();
+      Operator<? extends OperatorDesc> op = mapWork.getAliasToWork().get(alias);
+      PartitionDesc partitionDesc = entry.getValue();
+      if (!(op instanceof TableScanOperator)
+          || partitionDesc.getInputFileFormatClass() == null
+          || !BigQueryInputFormat.class.isAssignableFrom(
+              partitionDesc.getInputFileFormatClass())) {
+        continue;
+      }
+      String tableName = partitionDesc.getTableDesc().getTableName();
+      if (tableName.equals(currentTable)) {
+        continue;
+      }
+      tableDescs.put(tableName, partitionDesc.getTableDesc());
+      tableAliases.computeIfAbsent(tableName, k -> new ArrayList<>()).add(alias);
+    }
+    for (Map.Entry<String, List<String>> entry : tableAliases.entrySet()) {
+      String tableName = entry.getKey();
+      if (entry.getValue().size() > 1) {
+        // Hive merges the columns and filters of the table's scans, so the session could differ
+        continue;
+      }
+      List<String> scanKey = ImmutableList.of(queryId, tableName);
+      if (submittedScans.asMap().putIfAbsent(scanKey, Boolean.TRUE) != null) {
+        continue;
+      }
+      JobConf scanConf =
+          createScanConf(jobConf, mapWork, tableDescs.get(tableName), entry.getValue().get(0));
+      getExecutor(jobConf)
+          .execute(
+              () -> {
+                try {
+                  BigQueryInputSplit.createReadSession(scanConf);
+                } catch (Exception e) {
+                  // The scan will create its own session when its splits are computed
+                  LOG.warn("Failed to create the read session for " + tableName, e);
+                }
+              });
+    }
+  }
+
+  /**
+   * Returns the job configuration that Hive passes to the input format when it computes the
+   * splits of the given table scan: the table's properties, and the scan's columns and filter.
+   */
+  private static JobConf createScanConf(
+      JobConf jobConf, MapWork mapWork, TableDesc tableDesc, String alias) {
+    JobConf scanConf = new JobConf(jobConf);
+    // The query only applies to the table that defines it
+    scanConf.unset(HiveBigQueryConfig.QUERY_KEY);
+    for (String property : tableDesc.getProperties().stringPropertyNames()) {
+      scanConf.set(property, tableDesc.getProperties().getProperty(property));
+    }
+    scanConf.set(hive_metastoreConstants.META_TABLE_NAME, tableDesc.getTableName());
+
+    TableScanDesc tableScanDesc = (TableScanDesc) mapWork.getAliasToWork().get(alias).getConf();
+    if (tableScanDesc.getNeededColumnIDs() == null) {
+      scanConf.setBoolean(ColumnProjectionUtils.READ_ALL_COLUMNS, true);
+      scanConf.set(ColumnProjectionUtils.READ_COLUMN_NAMES_CONF_STR, "");
+    } else {
+      scanConf.setBoolean(ColumnProjectionUtils.READ_ALL_COLUMNS, false);
+      scanConf.set(
+          ColumnProjectionUtils.READ_COLUMN_NAMES_CONF_STR,
+          String.join(",", tableScanDesc.getNeededColumns()));
+    }
+    ExprNodeGenericFuncDesc filterExpr = tableScanDesc.getFilterExpr();
+    if (filterExpr == null) {
+      scanConf.unset(TableScanDesc.FILTER_EXPR_CONF_STR);
+    } else {
+      scanConf.set(
+          TableScanDesc.FILTER_EXPR_CONF_STR,
+          HiveCompat.getInstance().serializeExpression(filterExpr));
+    }
+
+    // The MR engine finds the scan from the input directory instead
+    Map<?, ?> pathToAliases = mapWork.getPathToAliases();
+    if (pathToAliases != null) {
+      for (Map.Entry<?, ?> entry : pathToAliases.entrySet()) {
+        if (((Collection<?>) entry.getValue()).contains(alias)) {
+          scanConf.set("mapreduce.input.fileinputformat.inputdir", entry.getKey().toString());
+          break;
+        }
+      }
+    }
+    return scanConf;
+  }
+
+  private static synchronized ExecutorService getExecutor(JobConf jobConf) {
+    if (executor == null) {
+      int numThreads =
+          jobConf.getInt(
+              HiveBigQueryConfig.READ_SESSION_CREATION_THREADS_KEY,
+              HiveBigQueryConfig.DEFAULT_READ_SESSION_CREATION_THREADS);
+      ThreadPoolExecutor threadPool =
+          new ThreadPoolExecutor(
+              numThreads,
+              numThreads,
+              60,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("bq-read-session-%d")
+                  .setDaemon(true)
+                  .build());
+      threadPool.allowCoreThreadTimeOut(true);
+      executor = threadPool;
+    }
+    return executor;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import java.io.IOException;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.ObjectWritable;
+import org.apache.hadoop.mapred.RecordReader;
+
+/**
+ * Produces the empty rows of a split whose rows were counted from the table's metadata (see {@link
+ * BigQueryInputSplit#getMetadataRowCount()}), without reading from BigQuery. All the values of the
+ * rows are null, which is fine as the query doesn't need any of the table's columns.
+ */
+public class RowCountRecordReader implements RecordReader<NullWritable, ObjectWritable> {
+
+  private final long rowCount;
+  // All the rows are the same, so the same row is returned each time
+  private final Object[] row;
+  private long rowsReturned = 0;
+
+  public RowCountRecordReader(BigQueryInputSplit inputSplit) {
+    this.rowCount = getRowCount(inputSplit);
+    this.row = new Object[inputSplit.getColumnNames().size()];
+  }
+
+  /** Returns the number of rows to produce for the split, taking its row limit into account. */
+  static long getRowCount(BigQueryInputSplit inputSplit) {
+    long rowLimit = inputSplit.getRowLimit();
+    long rowCount = inputSplit.getMetadataRowCount();
+    return rowLimit >= 0 ? Math.min(rowCount, rowLimit) : rowCount;
+  }
+
+  @Override
+  public boolean next(NullWritable nullWritable, ObjectWritable objectWritable) {
+    if (rowsReturned >= rowCount) {
+      return false;
+    }
+    objectWritable.set(row);
+    rowsReturned++;
+    return true;
+  }
+
+  @Override
+  public NullWritable createKey() {
+    return NullWritable.get();
+  }
+
+  @Override
+  public ObjectWritable createValue() {
+    return new ObjectWritable();
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    return rowsReturned;
+  }
+
+  @Override
+  public float getProgress() {
+    return rowCount == 0 ? 1 : (float) rowsReturned / rowCount;
+  }
+
+  @Override
+  public void close() {
+    // Nothing to release
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import java.io.IOException;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatchCtx;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.RecordReader;
+
+/**
+ * Vectorized counterpart of {@link RowCountRecordReader}, which fills Hive VectorizedRowBatch
+ * objects with the split's empty rows.
+ */
+public class RowCountVectorizedRecordReader
+    implements RecordReader<NullWritable, VectorizedRowBatch> {
+
+  private final VectorizedRowBatchCtx rbCtx;
+  private final long rowCount;
+  private long rowsReturned = 0;
+
+  public RowCountVectorizedRecordReader(
+      BigQueryInputSplit inputSplit, VectorizedRowBatchCtx rbCtx) {
+    this.rbCtx = rbCtx;
+    this.rowCount = RowCountRecordReader.getRowCount(inputSplit);
+  }
+
+  @Override
+  public boolean next(NullWritable nullWritable, VectorizedRowBatch batch) {
+    if (rowsReturned >= rowCount) {
+      return false;
+    }
+    int numRows = (int) Math.min(batch.getMaxSize(), rowCount - rowsReturned);
+    batch.reset();
+    for (ColumnVector columnVector : batch.cols) {
+      if (columnVector != null) {
+        // Mark all the values of the column as null
+        columnVector.noNulls = false;
+        columnVector.isRepeating = true;
+        columnVector.isNull[0] = true;
+      }
+    }
+    batch.size = numRows;
+    rowsReturned += numRows;
+    return true;
+  }
+
+  @Override
+  public NullWritable createKey() {
+    return NullWritable.get();
+  }
+
+  @Override
+  public VectorizedRowBatch createValue() {
+    return rbCtx.createVectorizedRowBatch();
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    return rowsReturned;
+  }
+
+  @Override
+  public float getProgress() {
+    return rowCount == 0 ? 1 : (float) rowsReturned / rowCount;
+  }
+
+  @Override
+  public void close() {
+    // Nothing to release
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Packs BigQuery read streams into splits, so that each split reads about the same number of bytes.
+ * This is used when the `bq.read.target.bytes.per.split` property is set, and replaces the grouping
+ * that Tez would otherwise apply to the splits.
+ *
+ * <p>BigQuery data has no locality, so the streams are packed by size only: the largest remaining
+ * stream always goes to the split that has the fewest bytes so far.
+ */
+public class StreamPacker {
+
+  private StreamPacker() {}
+
+  /**
+   * Returns the number of splits to create so that each split reads about `targetBytesPerSplit`
+   * bytes, without creating more splits than there are streams.
+   */
+  public static int getNumSplits(long totalBytes, int streamCount, long targetBytesPerSplit) {
+    if (streamCount == 0) {
+      return 0;
+    }
+    long desired = (totalBytes + targetBytesPerSplit - 1) / targetBytesPerSplit;
+    return (int) Math.max(1, Math.min(desired, streamCount));
+  }
+
+  /**
+   * Distributes the given items into `numBins` bins of balanced total sizes. Empty bins are
+   * dropped, and the items of each bin keep their original relative order.
+   */
+  public static <T> List<List<T>> pack(List<T> items, ToLongFunction<T> sizeFunction, int numBins) {
+    List<Integer> order = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      order.add(i);
+    }
+    // Place the largest items first, which keeps the bins balanced when the sizes vary
+    order.sort(
+        Comparator.comparingLong((Integer i) -> sizeFunction.applyAsLong(items.get(i)))
+            .reversed()
+            .thenComparingInt(i -> i));
+    long[] binSizes = new long[numBins];
+    List<List<Integer>> bins = new ArrayList<>(numBins);
+    PriorityQueue<Integer> queue =
+        new PriorityQueue<>(
+            Math.max(1, numBins),
+            Comparator.comparingLong((Integer bin) -> binSizes[bin]).thenComparingInt(bin -> bin));
+    for (int bin = 0; bin < numBins; bin++) {
+      bins.add(new ArrayList<>());
+      queue.add(bin);
+    }
+    for (int i : order) {
+      int bin = queue.poll();
+      bins.get(bin).add(i);
+      binSizes[bin] += sizeFunction.applyAsLong(items.get(i));
+      queue.add(bin);
+    }
+    List<List<T>> result = new ArrayList<>(numBins);
+    for (List<Integer> bin : bins) {
+      if (!bin.isEmpty()) {
+        bin.sort(Comparator.naturalOrder());
+        List<T> binItems = new ArrayList<>(bin.size());
+        bin.forEach(i -> binItems.add(items.get(i)));
+        result.add(binItems);
+      }
+    }
+    return result;
+  }
+}
@@ -15,41 +15,140 @@
  */
 package com.google.cloud.hive.bigquery.connector.input.arrow;
 
-import com.google.cloud.bigquery.connector.common.ArrowReaderIterator;
-import com.google.cloud.bigquery.connector.common.ReadRowsHelper;
 import com.google.cloud.bigquery.storage.v1.ReadRowsResponse;
+import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
 import com.google.cloud.hive.bigquery.connector.input.BigQueryInputSplit;
+import com.google.cloud.hive.bigquery.connector.input.BigQueryReadCounter;
+import com.google.cloud.hive.bigquery.connector.input.DynamicStreamReader;
+import com.google.cloud.hive.bigquery.connector.input.PrefetchingIterator;
+import com.google.cloud.hive.bigquery.connector.input.ReadProgress;
+import com.google.common.collect.AbstractIterator;
 import com.google.protobuf.ByteString;
-import java.io.*;
-import java.util.Collections;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.arrow.compression.CommonsCompressionFactory;
 import org.apache.arrow.memory.BufferAllocator;
 import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorLoader;
 import org.apache.arrow.vector.VectorSchemaRoot;
-import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.ReadChannel;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.ipc.message.MessageSerializer;
+import org.apache.arrow.vector.types.pojo.Schema;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.RecordReader;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Reads Arrow-formatted batches of rows (in the form of VectorSchemaRoot objects) from the BigQuery
  * Storage Read API responses.
+ *
+ * <p>The Arrow schema is deserialized only once, from the first response. Each record batch is then
+ * loaded into the same VectorSchemaRoot, so callers must be done with the current batch before
+ * fetching the next one.
+ *
+ * <p>All Arrow memory is allocated from a child of a single process-wide root allocator, whose
+ * limit can be set with the `bq.read.arrow.memory.limit` property. This matters in long-lived
+ * containers (e.g. with LLAP or Tez container reuse), where many splits are read by the same JVM
+ * over time. The child allocator is closed along with the reader, so any leaked buffer surfaces
+ * as an error instead of silently consuming direct memory.
+ *
+ * <p>If the `bq.read.prefetch.batches` property is set, the responses are fetched and deserialized
+ * by a background thread, which stays up to that many batches ahead of the reader.
  */
 public class ArrowBatchReader extends RecordReader<NullWritable, VectorSchemaRoot> {
 
+  private static final Logger LOG = LoggerFactory.getLogger(ArrowBatchReader.class);
+
+  private static BufferAllocator rootAllocator;
+  private static long rootAllocatorLimit;
+  private static boolean loggedIgnoredLimit = false;
+
+  // The peak memory already added to the counters of each task, which may read several splits
+  private static final Map<Reporter, Long> reportedPeakMemory = new WeakHashMap<>();
+
   private VectorSchemaRoot current;
-  private final Iterator<ReadRowsResponse> responseIterator;
-  private Iterator<VectorSchemaRoot> arrowReaderIterator;
+  private final DynamicStreamReader streamReader;
   private final BufferAllocator bufferAllocator;
-  private ByteString schema;
+  private final Reporter reporter;
+  private final Iterator<Batch> batchIterator;
+  private final PrefetchingIterator<Batch> prefetchingIterator;
+  private final ReadProgress readProgress;
+  // Set by the record batch iterator, possibly from the prefetching thread
+  private volatile Schema schema;
+  private VectorSchemaRoot root;
+  private VectorLoader vectorLoader;
+  private boolean closed = false;
+
+  public ArrowBatchReader(BigQueryInputSplit inputSplit, Configuration conf, Reporter reporter) {
+    streamReader = inputSplit.createStreamReader();
+    bufferAllocator =
+        getRootAllocator(conf).newChildAllocator(inputSplit.getName(), 0, Long.MAX_VALUE);
+    this.reporter = reporter;
+    this.readProgress = inputSplit.createReadProgress();
+    Iterator<Batch> iterator = new BatchIterator(streamReader);
+    int prefetchBatches = conf.getInt(HiveBigQueryConfig.READ_PREFETCH_BATCHES_KEY, 0);
+    if (prefetchBatches > 0) {
+      prefetchingIterator =
+          new PrefetchingIterator<>(
+              iterator,
+              prefetchBatches,
+              "bq-prefetch-" + inputSplit.getName(),
+              Batch::close);
+      iterator = prefetchingIterator;
+    } else {
+      prefetchingIterator = null;
+    }
+    batchIterator = iterator;
+  }
 
-  public ArrowBatchReader(BigQueryInputSplit inputSplit, Configuration conf) {
-    ReadRowsHelper readRowsHelper = inputSplit.getReadRowsHelper();
-    responseIterator = readRowsHelper.readRows();
-    arrowReaderIterator = Collections.emptyIterator();
-    bufferAllocator = new RootAllocator(Long.MAX_VALUE);
+  /**
+   * Returns the root allocator shared by all readers in this JVM. The root allocator is created
+   * the first time it is needed, so its limit is set by the configuration of the first reader. The
+   * limits set by the other readers are ignored.
+   */
+  private static synchronized BufferAllocator getRootAllocator(Configuration conf) {
+    long limit = conf.getLong(HiveBigQueryConfig.READ_ARROW_MEMORY_LIMIT_KEY, Long.MAX_VALUE);
+    if (rootAllocator == null) {
+      rootAllocator = new RootAllocator(limit);
+      rootAllocatorLimit = limit;
+    } else if (limit != rootAllocatorLimit && !loggedIgnoredLimit) {
+      LOG.warn(
+          "Ignoring {}={}, as the Arrow memory of this JVM is already limited to {} bytes",
+          HiveBigQueryConfig.READ_ARROW_MEMORY_LIMIT_KEY,
+          limit,
+          rootAllocatorLimit);
+      loggedIgnoredLimit = true;
+    }
+    return rootAllocator;
+  }
+
+  /**
+   * Raises the task's peak memory counter to the given peak, if it is higher. Adding the peak of
+   * each split would instead report the sum of the peaks of the task's splits.
+   */
+  private static void reportPeakMemory(Reporter reporter, long peakMemory) {
+    long increment;
+    synchronized (reportedPeakMemory) {
+      long reported = reportedPeakMemory.getOrDefault(reporter, 0L);
+      if (peakMemory <= reported) {
+        return;
+      }
+      reportedPeakMemory.put(reporter, peakMemory);
+      increment = peakMemory - reported;
+    }
+    reporter.incrCounter(BigQueryReadCounter.ARROW_PEAK_ALLOCATED_BYTES, increment);
   }
 
   @Override
@@ -61,29 +160,88 @@ public class ArrowBatchReader extends RecordReader<NullWritable, VectorSchemaRoo
    */
   @Override
   public boolean nextKeyValue() {
-    if (responseIterator.hasNext() && !arrowReaderIterator.hasNext()) {
-      ReadRowsResponse response = responseIterator.next();
-      if (schema == null) {
-        // Retrieve the Arrow schema from the BQ read response
-        schema = response.getArrowSchema().getSerializedSchema();
+    if (!batchIterator.hasNext()) {
+      current = null;
+      readProgress.finish();
+      return false;
+    }
+    try (Batch batch = batchIterator.next()) {
+      if (root == null) {
+        root = VectorSchemaRoot.create(schema, bufferAllocator);
+        // Decompresses the buffers if the batches were compressed by BigQuery (see the
+        // `bq.read.arrow.compression.codec` property). The decompressed buffers are allocated from
+        // the split's allocator, like all the other buffers.
+        vectorLoader = new VectorLoader(root, CommonsCompressionFactory.INSTANCE);
       }
-      ByteArrayInputStream schemaInputStream = new ByteArrayInputStream(schema.toByteArray());
-      // Retrieve the Arrow data
-      ByteString batchData = response.getArrowRecordBatch().getSerializedRecordBatch();
-      ByteArrayInputStream batchInputStream = new ByteArrayInputStream(batchData.toByteArray());
-      // Merge the schema and data together into a single input stream and create
-      // a new Arrow reader
-      SequenceInputStream bytesWithSchemaStream =
-          new SequenceInputStream(schemaInputStream, batchInputStream);
-      ArrowStreamReader reader = new ArrowStreamReader(bytesWithSchemaStream, bufferAllocator);
-      arrowReaderIterator = new ArrowReaderIterator(reader);
+      // Transfers the ownership of the batch's buffers to the root's vectors
+      vectorLoader.load(batch.recordBatch);
+      readProgress.startBatch(batch.stats);
     }
-    if (arrowReaderIterator.hasNext()) {
-      current = arrowReaderIterator.next();
-      return true;
+    current = root;
+    return true;
+  }
+
+  /**
+   * Returns the progress tracker of this reader. Callers report how many rows of the current batch
+   * they have consumed so that the progress can be estimated at the row level.
+   */
+  public ReadProgress getReadProgress() {
+    return readProgress;
+  }
+
+  /** Arrow record batch deserialized from a BQ read response, along with the response's stats. */
+  private static class Batch implements AutoCloseable {
+    private final ArrowRecordBatch recordBatch;
+    private final ReadProgress.ResponseStats stats;
+
+    Batch(ArrowRecordBatch recordBatch, ReadProgress.ResponseStats stats) {
+      this.recordBatch = recordBatch;
+      this.stats = stats;
+    }
+
+    @Override
+    public void close() {
+      recordBatch.close();
+    }
+  }
+
+  /**
+   * Deserializes the Arrow record batches contained in the BQ read responses. The Arrow schema is
+   * retrieved from the first response. Responses that don't contain any rows are skipped.
+   */
+  private class BatchIterator extends AbstractIterator<Batch> {
+
+    private final Iterator<ReadRowsResponse> responseIterator;
+
+    BatchIterator(Iterator<ReadRowsResponse> responseIterator) {
+      this.responseIterator = responseIterator;
+    }
+
+    @Override
+    protected Batch computeNext() {
+      while (responseIterator.hasNext()) {
+        ReadRowsResponse response = responseIterator.next();
+        try {
+          if (schema == null) {
+            schema =
+                MessageSerializer.deserializeSchema(
+                    new ReadChannel(
+                        new ByteStringChannel(response.getArrowSchema().getSerializedSchema())));
+          }
+          ByteString batchData = response.getArrowRecordBatch().getSerializedRecordBatch();
+          if (batchData.isEmpty()) {
+            continue;
+          }
+          return new Batch(
+              MessageSerializer.deserializeRecordBatch(
+                  new ReadChannel(new ByteStringChannel(batchData)), bufferAllocator),
+              new ReadProgress.ResponseStats(response));
+        } catch (IOException e) {
+          throw new RuntimeException("Failed to deserialize Arrow data", e);
+        }
+      }
+      return endOfData();
     }
-    current = null;
-    return false;
   }
 
   @Override
@@ -98,10 +256,98 @@ public class ArrowBatchReader extends RecordReader<NullWritable, VectorSchemaRoo
 
   @Override
   public float getProgress() {
-    // TODO
-    return -1;
+    return readProgress.getProgress();
   }
 
   @Override
-  public void close() {}
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    RuntimeException failure = null;
+    try {
+      // Closing the stream first unblocks the prefetching thread if it's waiting for a response
+      streamReader.close();
+      if (prefetchingIterator != null) {
+        prefetchingIterator.close();
+        prefetchingIterator.reportCounters(reporter);
+      }
+      if (root != null) {
+        root.close();
+      }
+    } catch (RuntimeException e) {
+      failure = e;
+      throw e;
+    } finally {
+      long peakMemory = bufferAllocator.getPeakMemoryAllocation();
+      LOG.debug(
+          "Peak Arrow memory allocation for stream {}: {} bytes",
+          bufferAllocator.getName(),
+          peakMemory);
+      if (reporter != null) {
+        reportPeakMemory(reporter, peakMemory);
+      }
+      // Fails if any buffer hasn't been released, which is likely a consequence of the original
+      // failure, if any, so don't let it mask that failure
+      try {
+        bufferAllocator.close();
+      } catch (IllegalStateException e) {
+        if (failure == null) {
+          throw e;
+        }
+        failure.addSuppressed(e);
+      }
+    }
+  }
+
+  /**
+   * Exposes the content of a ByteString as a channel, reading directly from the ByteString's
+   * read-only buffers. This way the data is copied only once, straight into the Arrow buffers.
+   */
+  private static class ByteStringChannel implements ReadableByteChannel {
+
+    private final List<ByteBuffer> buffers;
+    private int currentBuffer = 0;
+    private boolean open = true;
+
+    ByteStringChannel(ByteString byteString) {
+      this.buffers = byteString.asReadOnlyByteBufferList();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      while (currentBuffer < buffers.size() && !buffers.get(currentBuffer).hasRemaining()) {
+        currentBuffer++;
+      }
+      if (currentBuffer == buffers.size()) {
+        return -1;
+      }
+      int numBytesRead = 0;
+      while (currentBuffer < buffers.size() && dst.hasRemaining()) {
+        ByteBuffer src = buffers.get(currentBuffer);
+        int length = Math.min(src.remaining(), dst.remaining());
+        ByteBuffer slice = src.slice();
+        // Cast to Buffer to remain binary-compatible with Java 8
+        ((Buffer) slice).limit(length);
+        dst.put(slice);
+        ((Buffer) src).position(src.position() + length);
+        numBytesRead += length;
+        if (!src.hasRemaining()) {
+          currentBuffer++;
+        }
+      }
+      return numBytesRead;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() {
+      open = false;
+    }
+  }
 }
@@ -15,22 +15,21 @@
  */
 package com.google.cloud.hive.bigquery.connector.input.arrow;
 
-import com.google.cloud.hive.bigquery.connector.BigQuerySerDe;
 import com.google.cloud.hive.bigquery.connector.input.BigQueryInputSplit;
+import com.google.cloud.hive.bigquery.connector.input.ReadProgress;
 import java.io.IOException;
 import java.util.List;
 import org.apache.arrow.vector.FieldVector;
 import org.apache.arrow.vector.VectorSchemaRoot;
-import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
-import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.ObjectWritable;
 import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapreduce.RecordReader;
 
 /**
- * Reads from Arrow-formatted batches of rows, and returns individual rows in a serialized format
- * that Hive can handle.
+ * Reads from Arrow-formatted batches of rows, and returns individual rows as {@link ArrowRow}
+ * cursors. The values are decoded lazily by the {@link ArrowStructObjectInspector}.
  */
 public class ArrowRecordReader
     implements org.apache.hadoop.mapred.RecordReader<NullWritable, ObjectWritable> {
@@ -38,42 +37,47 @@ public class ArrowRecordReader
   private VectorSchemaRoot currentBatch;
   private int numRowsLeftInBatch;
   private final RecordReader<NullWritable, VectorSchemaRoot> arrowBatchReader;
+  private final ReadProgress readProgress;
   private final List<String> columnNames;
-  private final StructObjectInspector rowObjectInspector;
+  private ArrowRow row;
 
-  public ArrowRecordReader(BigQueryInputSplit inputSplit, JobConf jobConf) {
-    this.arrowBatchReader = new ArrowBatchReader(inputSplit, jobConf);
+  public ArrowRecordReader(BigQueryInputSplit inputSplit, JobConf jobConf, Reporter reporter) {
+    ArrowBatchReader batchReader = new ArrowBatchReader(inputSplit, jobConf, reporter);
+    this.arrowBatchReader = batchReader;
+    this.readProgress = batchReader.getReadProgress();
     this.columnNames = inputSplit.getColumnNames();
-    this.rowObjectInspector = BigQuerySerDe.getRowObjectInspector(jobConf);
   }
 
   /**
-   * Converts the given Arrow-formatted row into a serialized object made of "Writable" components
-   * that Hive can handle.
+   * Creates the row cursor, mapping each vector in the Arrow schema to the position of the
+   * corresponding column in the Hive row. This only needs to be done once per split as all batches
+   * are loaded into the same VectorSchemaRoot.
    */
-  private Object serializeRow(VectorSchemaRoot schemaRoot, int rowId) {
-    int numColumnsInSchemaRoot = schemaRoot.getFieldVectors().size();
-    Object[] row = new Object[columnNames.size()];
-    for (int i = 0; i < numColumnsInSchemaRoot; i++) {
-      FieldVector fieldVector = schemaRoot.getVector(i);
+  private ArrowRow createRow(VectorSchemaRoot schemaRoot) {
+    FieldVector[] vectors = new FieldVector[columnNames.size()];
+    for (FieldVector fieldVector : schemaRoot.getFieldVectors()) {
       String fieldName = fieldVector.getName();
       int colIndex = columnNames.indexOf(fieldName.toLowerCase());
       if (colIndex == -1) {
         throw new RuntimeException(
             "Unable to find column " + fieldName + " in columns " + columnNames);
       }
-      ObjectInspector fieldObjectInspector =
-          rowObjectInspector.getStructFieldRef(fieldName).getFieldObjectInspector();
-      row[colIndex] = ArrowSerializer.serialize(fieldVector, fieldObjectInspector, rowId);
+      vectors[colIndex] = fieldVector;
     }
+    return new ArrowRow(vectors);
+  }
+
+  /** Points the row cursor to the given row of the current batch. */
+  private Object nextRow(int rowId) {
+    row.setRowId(rowId);
     numRowsLeftInBatch--;
+    readProgress.consumeRows(1);
     return row;
   }
 
   @Override
   public float getProgress() throws IOException {
-    // TODO
-    return -1;
+    return readProgress.getProgress();
   }
 
   @Override
@@ -81,16 +85,18 @@ public class ArrowRecordReader
     try {
       if (numRowsLeftInBatch > 0) {
         // There still are some unprocessed rows in the current batch.
-        // Serialize the next row in the batch.
-        objectWritable.set(
-            serializeRow(currentBatch, currentBatch.getRowCount() - numRowsLeftInBatch));
+        // Move to the next row in the batch.
+        objectWritable.set(nextRow(currentBatch.getRowCount() - numRowsLeftInBatch));
         return true;
       } else if (this.arrowBatchReader.nextKeyValue()) {
         // Get the next batch
         currentBatch = this.arrowBatchReader.getCurrentValue();
         numRowsLeftInBatch = currentBatch.getRowCount();
-        // Serialize the first row in the batch
-        objectWritable.set(serializeRow(currentBatch, 0));
+        if (row == null) {
+          row = createRow(currentBatch);
+        }
+        // Move to the first row in the batch
+        objectWritable.set(nextRow(0));
         return true;
       }
       // No more rows to be processed
@@ -112,8 +118,7 @@ public class ArrowRecordReader
 
   @Override
   public long getPos() throws IOException {
-    // TODO
-    return -1;
+    return readProgress.getPos();
   }
 
   @Override
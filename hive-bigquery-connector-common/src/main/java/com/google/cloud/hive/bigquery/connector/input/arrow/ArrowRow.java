@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input.arrow;
+
+import org.apache.arrow.vector.FieldVector;
+
+/**
+ * Cursor over a row of an Arrow batch. This is the row object produced by {@link
+ * ArrowRecordReader}. The values are only decoded when they are requested through {@link
+ * ArrowStructObjectInspector}, and then cached until the cursor moves to another row.
+ *
+ * <p>The same instance is reused for all rows of a split, so it's only valid until the next row is
+ * read, which is the usual contract for Hive row objects.
+ */
+public class ArrowRow {
+
+  // Indexed by the position of the columns in the Hive table. Null for columns that aren't read.
+  private final FieldVector[] vectors;
+  private final Object[] values;
+  private final long[] decodedAt;
+  private long position = 0;
+  private int rowId;
+
+  public ArrowRow(FieldVector[] vectors) {
+    this.vectors = vectors;
+    this.values = new Object[vectors.length];
+    this.decodedAt = new long[vectors.length];
+  }
+
+  /** Moves the cursor to the given row of the current batch. */
+  public void setRowId(int rowId) {
+    this.rowId = rowId;
+    // Invalidates the values decoded from the previous row
+    position++;
+  }
+
+  Object get(int index, ArrowSerializer.Decoder decoder) {
+    if (decodedAt[index] != position) {
+      FieldVector vector = vectors[index];
+      values[index] = vector == null ? null : decoder.decode(vector, rowId);
+      decodedAt[index] = position;
+    }
+    return values[index];
+  }
+}
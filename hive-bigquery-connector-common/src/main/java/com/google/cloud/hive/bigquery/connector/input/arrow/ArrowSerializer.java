@@ -33,125 +33,175 @@ import org.apache.hadoop.io.*;
 
 public class ArrowSerializer {
 
+  /** Converts the value at the given position of an Arrow vector to a Hive-compatible format. */
+  public interface Decoder {
+    Object decode(ValueVector vector, int rowId);
+  }
+
   /**
-   * Converts the given Arrow-formatted value that was read from BigQuery to a serialized format
-   * that Hive understands.
+   * Resolves, once and for all, how values described by the given ObjectInspector must be decoded.
+   * The returned decoder can then be reused for every row of every batch that shares the same
+   * schema, which avoids re-inspecting the ObjectInspector for each individual value.
    */
-  public static Object serialize(Object value, ObjectInspector objectInspector, int rowId) {
-    if (value == null || (value instanceof ValueVector && ((ValueVector) value).isNull(rowId))) {
-      return null;
-    }
+  public static Decoder createDecoder(ObjectInspector objectInspector) {
+    return createDecoder(objectInspector, false);
+  }
+
+  /**
+   * Same as {@link #createDecoder(ObjectInspector)}, but if `reuseWritables` is true, the returned
+   * decoder may return the same Writable instance for every call, overwriting its previous value.
+   * This must only be used for top-level columns, whose values are consumed before the next row
+   * is decoded.
+   */
+  public static Decoder createDecoder(ObjectInspector objectInspector, boolean reuseWritables) {
+    Decoder decoder = createNonNullDecoder(objectInspector, reuseWritables);
+    return (vector, rowId) -> vector.isNull(rowId) ? null : decoder.decode(vector, rowId);
+  }
 
+  private static Decoder createNonNullDecoder(
+      ObjectInspector objectInspector, boolean reuseWritables) {
     if (objectInspector instanceof BooleanObjectInspector) {
-      return new BooleanWritable(((BitVector) value).get(rowId) == 1);
+      return (vector, rowId) -> new BooleanWritable(((BitVector) vector).get(rowId) == 1);
     }
 
     if (objectInspector instanceof ByteObjectInspector) { // Tiny Int
-      return new ByteWritable((byte) ((BigIntVector) value).get(rowId));
+      return (vector, rowId) -> new ByteWritable((byte) ((BigIntVector) vector).get(rowId));
     }
 
     if (objectInspector instanceof ShortObjectInspector) { // Small Int
-      return new ShortWritable((short) ((BigIntVector) value).get(rowId));
+      return (vector, rowId) -> new ShortWritable((short) ((BigIntVector) vector).get(rowId));
     }
 
     if (objectInspector instanceof IntObjectInspector) { // Regular Int
-      return new IntWritable((int) ((BigIntVector) value).get(rowId));
+      return (vector, rowId) -> new IntWritable((int) ((BigIntVector) vector).get(rowId));
     }
 
     if (objectInspector instanceof LongObjectInspector) { // Big Int
-      return new LongWritable(((BigIntVector) value).get(rowId));
+      return (vector, rowId) -> new LongWritable(((BigIntVector) vector).get(rowId));
     }
 
     if (objectInspector instanceof FloatObjectInspector) {
-      return new FloatWritable((float) ((Float8Vector) value).get(rowId));
+      return (vector, rowId) -> new FloatWritable((float) ((Float8Vector) vector).get(rowId));
     }
 
     if (objectInspector instanceof DoubleObjectInspector) {
-      return new DoubleWritable(((Float8Vector) value).get(rowId));
+      return (vector, rowId) -> new DoubleWritable(((Float8Vector) vector).get(rowId));
     }
 
     if (objectInspector instanceof HiveDecimalObjectInspector) {
-      BigDecimal decimalValue =
-          (value instanceof Decimal256Vector)
-              ? ((Decimal256Vector) value).getObject(rowId)
-              : ((DecimalVector) value).getObject(rowId);
-      HiveDecimal hiveDecimal = HiveDecimal.create(decimalValue);
-      return new HiveDecimalWritable(hiveDecimal);
+      return (vector, rowId) -> {
+        BigDecimal decimalValue =
+            (vector instanceof Decimal256Vector)
+                ? ((Decimal256Vector) vector).getObject(rowId)
+                : ((DecimalVector) vector).getObject(rowId);
+        HiveDecimal hiveDecimal = HiveDecimal.create(decimalValue);
+        return new HiveDecimalWritable(hiveDecimal);
+      };
     }
 
     if (objectInspector instanceof StringObjectInspector
         || objectInspector instanceof HiveVarcharObjectInspector
         || objectInspector instanceof HiveCharObjectInspector) {
-      VarCharVector v = (VarCharVector) value;
-      if (v.isSet(rowId) == 0) {
-        return null;
-      } else {
-        return new Text(v.getObject(rowId).toString());
+      // Copy the UTF-8 bytes as-is instead of decoding them into a String and re-encoding them
+      if (reuseWritables) {
+        return new ReusableTextDecoder();
       }
+      return (vector, rowId) -> new Text(((VarCharVector) vector).get(rowId));
     }
 
     if (objectInspector instanceof BinaryObjectInspector) {
-      return new BytesWritable(((VarBinaryVector) value).getObject(rowId));
-    }
-
-    Object converted =
-        HiveCompat.getInstance().convertTimeUnitFromArrow(objectInspector, value, rowId);
-    if (converted != null) {
-      return converted;
+      return (vector, rowId) -> new BytesWritable(((VarBinaryVector) vector).getObject(rowId));
     }
 
     if (objectInspector instanceof ListObjectInspector) { // Array/List type
       ListObjectInspector loi = (ListObjectInspector) objectInspector;
-      ListVector listVector = (ListVector) value;
-      int start = listVector.getOffsetBuffer().getInt(rowId * 4L);
-      int end = listVector.getOffsetBuffer().getInt((rowId + 1) * 4L);
-      int numItems = end - start;
-      Object[] children = new Object[numItems];
-      for (int i = 0; i < numItems; i++) {
-        children[i] =
-            serialize(listVector.getDataVector(), loi.getListElementObjectInspector(), start + i);
-      }
-      return children;
+      Decoder elementDecoder = createDecoder(loi.getListElementObjectInspector());
+      return (vector, rowId) -> {
+        ListVector listVector = (ListVector) vector;
+        int start = listVector.getOffsetBuffer().getInt(rowId * 4L);
+        int end = listVector.getOffsetBuffer().getInt((rowId + 1) * 4L);
+        int numItems = end - start;
+        Object[] children = new Object[numItems];
+        for (int i = 0; i < numItems; i++) {
+          children[i] = elementDecoder.decode(listVector.getDataVector(), start + i);
+        }
+        return children;
+      };
     }
 
     if (objectInspector instanceof MapObjectInspector) { // Map type
       MapObjectInspector moi = (MapObjectInspector) objectInspector;
-      Map<Object, Object> map = new HashMap<>();
-      ListVector listVector = (ListVector) value;
-      StructVector structVector = (StructVector) listVector.getDataVector();
-      int start = listVector.getOffsetBuffer().getInt(rowId * 4L);
-      int end = listVector.getOffsetBuffer().getInt((rowId + 1) * 4L);
-      ValueVector keys =
-          structVector.getChildVectorWithOrdinal(KeyValueObjectInspector.KEY_FIELD_NAME).vector;
-      ValueVector values =
-          structVector.getChildVectorWithOrdinal(KeyValueObjectInspector.VALUE_FIELD_NAME).vector;
-      int numItems = end - start;
-      for (int i = 0; i < numItems; i++) {
-        Object k = serialize(keys, moi.getMapKeyObjectInspector(), start + i);
-        Object v = serialize(values, moi.getMapValueObjectInspector(), start + i);
-        map.put(k, v);
-      }
-      return map;
+      Decoder keyDecoder = createDecoder(moi.getMapKeyObjectInspector());
+      Decoder valueDecoder = createDecoder(moi.getMapValueObjectInspector());
+      return (vector, rowId) -> {
+        Map<Object, Object> map = new HashMap<>();
+        ListVector listVector = (ListVector) vector;
+        StructVector structVector = (StructVector) listVector.getDataVector();
+        int start = listVector.getOffsetBuffer().getInt(rowId * 4L);
+        int end = listVector.getOffsetBuffer().getInt((rowId + 1) * 4L);
+        ValueVector keys =
+            structVector.getChildVectorWithOrdinal(KeyValueObjectInspector.KEY_FIELD_NAME).vector;
+        ValueVector values =
+            structVector.getChildVectorWithOrdinal(KeyValueObjectInspector.VALUE_FIELD_NAME).vector;
+        int numItems = end - start;
+        for (int i = 0; i < numItems; i++) {
+          Object k = keyDecoder.decode(keys, start + i);
+          Object v = valueDecoder.decode(values, start + i);
+          map.put(k, v);
+        }
+        return map;
+      };
     }
 
     if (objectInspector instanceof StructObjectInspector) { // Record/Struct type
-      StructObjectInspector soi = (StructObjectInspector) objectInspector;
-      List<FieldVector> fieldVectors = ((StructVector) value).getChildrenFromFields();
-      Object[] row = new Object[fieldVectors.size()];
-      int i = 0;
-      for (FieldVector fieldVector : fieldVectors) {
-        row[i] =
-            serialize(
-                fieldVector, soi.getAllStructFieldRefs().get(i).getFieldObjectInspector(), rowId);
-        i++;
+      List<? extends StructField> fieldRefs =
+          ((StructObjectInspector) objectInspector).getAllStructFieldRefs();
+      Decoder[] fieldDecoders = new Decoder[fieldRefs.size()];
+      for (int i = 0; i < fieldRefs.size(); i++) {
+        fieldDecoders[i] = createDecoder(fieldRefs.get(i).getFieldObjectInspector());
+      }
+      return (vector, rowId) -> {
+        List<FieldVector> fieldVectors = ((StructVector) vector).getChildrenFromFields();
+        Object[] row = new Object[fieldVectors.size()];
+        for (int i = 0; i < row.length; i++) {
+          row[i] = fieldDecoders[i].decode(fieldVectors.get(i), rowId);
+        }
+        return row;
+      };
+    }
+
+    // Date and time types differ across Hive versions
+    return (vector, rowId) -> {
+      Object converted =
+          HiveCompat.getInstance().convertTimeUnitFromArrow(objectInspector, vector, rowId);
+      if (converted != null) {
+        return converted;
+      }
+      throw new UnsupportedOperationException(
+          "Unsupported ObjectInspector `"
+              + objectInspector.getClass().getName()
+              + "` for value of type `"
+              + vector.getClass().getName()
+              + "`");
+    };
+  }
+
+  /** Decodes strings by copying their bytes from the Arrow vector into the same Text instance. */
+  private static class ReusableTextDecoder implements Decoder {
+
+    private final Text text = new Text();
+    private byte[] buffer = new byte[0];
+
+    @Override
+    public Object decode(ValueVector vector, int rowId) {
+      VarCharVector v = (VarCharVector) vector;
+      int length = v.getValueLength(rowId);
+      if (buffer.length < length) {
+        buffer = new byte[Math.max(length, buffer.length * 2)];
       }
-      return row;
+      v.getDataBuffer().getBytes(v.getStartOffset(rowId), buffer, 0, length);
+      text.set(buffer, 0, length);
+      return text;
     }
-    throw new UnsupportedOperationException(
-        "Unsupported ObjectInspector `"
-            + objectInspector.getClass().getName()
-            + "` for value of type `"
-            + value.getClass().getName()
-            + "`");
   }
 }
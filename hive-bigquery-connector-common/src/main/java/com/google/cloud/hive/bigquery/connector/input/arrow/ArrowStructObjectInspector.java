@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input.arrow;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.hadoop.hive.serde2.objectinspector.*;
+
+/**
+ * Row ObjectInspector used for the Arrow format. Its row objects are {@link ArrowRow} cursors, and
+ * each field is decoded from the Arrow vectors only when Hive actually accesses it. Columns that
+ * are dropped by a filter or never referenced downstream are therefore never decoded.
+ *
+ * <p>Rows represented as arrays or lists of fields (e.g. as produced by the Avro reader) are still
+ * supported, so that this ObjectInspector can be used regardless of the read format.
+ */
+public class ArrowStructObjectInspector extends StandardStructObjectInspector {
+
+  private final ArrowSerializer.Decoder[] decoders;
+
+  public ArrowStructObjectInspector(StructObjectInspector rowObjectInspector) {
+    List<? extends StructField> fieldRefs = rowObjectInspector.getAllStructFieldRefs();
+    List<String> fieldNames = new ArrayList<>(fieldRefs.size());
+    List<ObjectInspector> fieldObjectInspectors = new ArrayList<>(fieldRefs.size());
+    decoders = new ArrowSerializer.Decoder[fieldRefs.size()];
+    for (int i = 0; i < fieldRefs.size(); i++) {
+      StructField fieldRef = fieldRefs.get(i);
+      fieldNames.add(fieldRef.getFieldName());
+      fieldObjectInspectors.add(fieldRef.getFieldObjectInspector());
+      // The decoded values are only valid until the row cursor moves, so Writables can be reused
+      decoders[i] = ArrowSerializer.createDecoder(fieldRef.getFieldObjectInspector(), true);
+    }
+    this.init(fieldNames, fieldObjectInspectors, null);
+  }
+
+  @Override
+  public Object getStructFieldData(Object data, StructField fieldRef) {
+    if (data instanceof ArrowRow) {
+      int index = ((MyField) fieldRef).getFieldID();
+      return ((ArrowRow) data).get(index, decoders[index]);
+    }
+    return super.getStructFieldData(data, fieldRef);
+  }
+
+  @Override
+  public List<Object> getStructFieldsDataAsList(Object data) {
+    if (data instanceof ArrowRow) {
+      ArrowRow row = (ArrowRow) data;
+      List<Object> values = new ArrayList<>(decoders.length);
+      for (int i = 0; i < decoders.length; i++) {
+        values.add(row.get(i, decoders[i]));
+      }
+      return values;
+    }
+    return super.getStructFieldsDataAsList(data);
+  }
+
+  /**
+   * Two instances are equal if they describe the same row type. This lets Hive recognize that the
+   * table and partition ObjectInspectors match, and so skip converting the rows.
+   */
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof ArrowStructObjectInspector
+        && getTypeName().equals(((ArrowStructObjectInspector) other).getTypeName());
+  }
+
+  @Override
+  public int hashCode() {
+    return getTypeName().hashCode();
+  }
+}
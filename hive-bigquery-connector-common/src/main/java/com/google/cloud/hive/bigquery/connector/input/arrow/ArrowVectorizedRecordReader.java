@@ -0,0 +1,288 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input.arrow;
+
+import com.google.cloud.hive.bigquery.connector.input.BigQueryInputSplit;
+import com.google.cloud.hive.bigquery.connector.input.ReadProgress;
+import com.google.cloud.hive.bigquery.connector.utils.hive.KeyValueObjectInspector;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import org.apache.arrow.vector.*;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.*;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapreduce.RecordReader;
+
+/**
+ * Reads from Arrow-formatted batches of rows, and copies the Arrow vectors directly into the column
+ * vectors of a Hive VectorizedRowBatch. This is used when Hive's vectorized execution is enabled,
+ * and avoids materializing every individual value as a Writable object.
+ */
+public class ArrowVectorizedRecordReader
+    implements org.apache.hadoop.mapred.RecordReader<NullWritable, VectorizedRowBatch> {
+
+  private final RecordReader<NullWritable, VectorSchemaRoot> arrowBatchReader;
+  private final ReadProgress readProgress;
+  private final VectorizedRowBatchCtx rbCtx;
+  private final List<String> columnNames;
+  private VectorSchemaRoot currentBatch;
+  private int currentRowId;
+  // Maps each vector in the Arrow schema to the corresponding column index in the Hive batch
+  private int[] columnIndexes;
+
+  public ArrowVectorizedRecordReader(
+      BigQueryInputSplit inputSplit,
+      JobConf jobConf,
+      VectorizedRowBatchCtx rbCtx,
+      Reporter reporter) {
+    ArrowBatchReader batchReader = new ArrowBatchReader(inputSplit, jobConf, reporter);
+    this.arrowBatchReader = batchReader;
+    this.readProgress = batchReader.getReadProgress();
+    this.columnNames = inputSplit.getColumnNames();
+    this.rbCtx = rbCtx;
+  }
+
+  @Override
+  public boolean next(NullWritable nullWritable, VectorizedRowBatch batch) throws IOException {
+    try {
+      while (currentBatch == null || currentRowId >= currentBatch.getRowCount()) {
+        if (!arrowBatchReader.nextKeyValue()) {
+          // No more rows to be processed
+          return false;
+        }
+        currentBatch = arrowBatchReader.getCurrentValue();
+        currentRowId = 0;
+        if (columnIndexes == null) {
+          columnIndexes = computeColumnIndexes(currentBatch);
+        }
+      }
+    } catch (InterruptedException ex) {
+      throw new IOException("Interrupted", ex);
+    }
+    // A BigQuery batch might contain more rows than the Hive batch can hold, in which case the
+    // remaining rows are copied in the following calls.
+    int numRows = Math.min(batch.getMaxSize(), currentBatch.getRowCount() - currentRowId);
+    batch.reset();
+    List<FieldVector> fieldVectors = currentBatch.getFieldVectors();
+    for (int i = 0; i < fieldVectors.size(); i++) {
+      ColumnVector columnVector = batch.cols[columnIndexes[i]];
+      if (columnVector == null) {
+        // The column isn't needed by the query
+        continue;
+      }
+      copy(fieldVectors.get(i), currentRowId, columnVector, 0, numRows);
+    }
+    batch.size = numRows;
+    currentRowId += numRows;
+    readProgress.consumeRows(numRows);
+    return true;
+  }
+
+  private int[] computeColumnIndexes(VectorSchemaRoot schemaRoot) {
+    List<FieldVector> fieldVectors = schemaRoot.getFieldVectors();
+    int[] indexes = new int[fieldVectors.size()];
+    for (int i = 0; i < fieldVectors.size(); i++) {
+      String fieldName = fieldVectors.get(i).getName();
+      int colIndex = columnNames.indexOf(fieldName.toLowerCase());
+      if (colIndex == -1) {
+        throw new RuntimeException(
+            "Unable to find column " + fieldName + " in columns " + columnNames);
+      }
+      indexes[i] = colIndex;
+    }
+    return indexes;
+  }
+
+  /**
+   * Copies `count` values from the given Arrow vector, starting at `srcStart`, into the given Hive
+   * column vector, starting at `dstStart`.
+   */
+  @VisibleForTesting
+  static void copy(ValueVector src, int srcStart, ColumnVector dst, int dstStart, int count) {
+    for (int i = 0; i < count; i++) {
+      if (src.isNull(srcStart + i)) {
+        dst.noNulls = false;
+        dst.isNull[dstStart + i] = true;
+      } else {
+        dst.isNull[dstStart + i] = false;
+      }
+    }
+    if (dst instanceof LongColumnVector) {
+      copyLongs(src, srcStart, (LongColumnVector) dst, dstStart, count);
+    } else if (dst instanceof DoubleColumnVector) {
+      Float8Vector v = (Float8Vector) src;
+      double[] values = ((DoubleColumnVector) dst).vector;
+      for (int i = 0; i < count; i++) {
+        if (!dst.isNull[dstStart + i]) {
+          values[dstStart + i] = v.get(srcStart + i);
+        }
+      }
+    } else if (dst instanceof BytesColumnVector) {
+      copyBytes((BaseVariableWidthVector) src, srcStart, (BytesColumnVector) dst, dstStart, count);
+    } else if (dst instanceof DecimalColumnVector) {
+      DecimalColumnVector dcv = (DecimalColumnVector) dst;
+      for (int i = 0; i < count; i++) {
+        if (!dst.isNull[dstStart + i]) {
+          BigDecimal decimalValue =
+              (src instanceof Decimal256Vector)
+                  ? ((Decimal256Vector) src).getObject(srcStart + i)
+                  : ((DecimalVector) src).getObject(srcStart + i);
+          dcv.set(dstStart + i, HiveDecimal.create(decimalValue));
+        }
+      }
+    } else if (dst instanceof TimestampColumnVector) {
+      TimeStampVector v = (TimeStampVector) src;
+      TimestampColumnVector tcv = (TimestampColumnVector) dst;
+      for (int i = 0; i < count; i++) {
+        if (!dst.isNull[dstStart + i]) {
+          long micros = v.get(srcStart + i);
+          tcv.time[dstStart + i] = Math.floorDiv(micros, 1_000L);
+          tcv.nanos[dstStart + i] = (int) Math.floorMod(micros, 1_000_000L) * 1_000;
+        }
+      }
+    } else if (dst instanceof MapColumnVector) {
+      MapColumnVector mcv = (MapColumnVector) dst;
+      ListVector listVector = (ListVector) src;
+      StructVector structVector = (StructVector) listVector.getDataVector();
+      ValueVector keys =
+          structVector.getChildVectorWithOrdinal(KeyValueObjectInspector.KEY_FIELD_NAME).vector;
+      ValueVector values =
+          structVector.getChildVectorWithOrdinal(KeyValueObjectInspector.VALUE_FIELD_NAME).vector;
+      for (int i = 0; i < count; i++) {
+        int start = listVector.getOffsetBuffer().getInt((srcStart + i) * 4L);
+        int end = listVector.getOffsetBuffer().getInt((srcStart + i + 1) * 4L);
+        int numItems = dst.isNull[dstStart + i] ? 0 : end - start;
+        mcv.offsets[dstStart + i] = mcv.childCount;
+        mcv.lengths[dstStart + i] = numItems;
+        if (numItems > 0) {
+          mcv.keys.ensureSize(mcv.childCount + numItems, true);
+          mcv.values.ensureSize(mcv.childCount + numItems, true);
+          copy(keys, start, mcv.keys, mcv.childCount, numItems);
+          copy(values, start, mcv.values, mcv.childCount, numItems);
+          mcv.childCount += numItems;
+        }
+      }
+    } else if (dst instanceof ListColumnVector) {
+      ListColumnVector lcv = (ListColumnVector) dst;
+      ListVector listVector = (ListVector) src;
+      for (int i = 0; i < count; i++) {
+        int start = listVector.getOffsetBuffer().getInt((srcStart + i) * 4L);
+        int end = listVector.getOffsetBuffer().getInt((srcStart + i + 1) * 4L);
+        int numItems = dst.isNull[dstStart + i] ? 0 : end - start;
+        lcv.offsets[dstStart + i] = lcv.childCount;
+        lcv.lengths[dstStart + i] = numItems;
+        if (numItems > 0) {
+          lcv.child.ensureSize(lcv.childCount + numItems, true);
+          copy(listVector.getDataVector(), start, lcv.child, lcv.childCount, numItems);
+          lcv.childCount += numItems;
+        }
+      }
+    } else if (dst instanceof StructColumnVector) {
+      StructColumnVector scv = (StructColumnVector) dst;
+      List<FieldVector> children = ((StructVector) src).getChildrenFromFields();
+      for (int f = 0; f < children.size(); f++) {
+        copy(children.get(f), srcStart, scv.fields[f], dstStart, count);
+      }
+    } else {
+      throw new UnsupportedOperationException(
+          "Unsupported column vector `"
+              + dst.getClass().getName()
+              + "` for Arrow vector of type `"
+              + src.getClass().getName()
+              + "`");
+    }
+  }
+
+  private static void copyLongs(
+      ValueVector src, int srcStart, LongColumnVector dst, int dstStart, int count) {
+    long[] values = dst.vector;
+    if (src instanceof BigIntVector) {
+      BigIntVector v = (BigIntVector) src;
+      for (int i = 0; i < count; i++) {
+        if (!dst.isNull[dstStart + i]) {
+          values[dstStart + i] = v.get(srcStart + i);
+        }
+      }
+    } else if (src instanceof BitVector) {
+      BitVector v = (BitVector) src;
+      for (int i = 0; i < count; i++) {
+        if (!dst.isNull[dstStart + i]) {
+          values[dstStart + i] = v.get(srcStart + i);
+        }
+      }
+    } else if (src instanceof DateDayVector) {
+      DateDayVector v = (DateDayVector) src;
+      for (int i = 0; i < count; i++) {
+        if (!dst.isNull[dstStart + i]) {
+          values[dstStart + i] = v.get(srcStart + i);
+        }
+      }
+    } else {
+      throw new UnsupportedOperationException(
+          "Unsupported Arrow vector of type `" + src.getClass().getName() + "` for long column");
+    }
+  }
+
+  /** Copies the bytes straight from the Arrow data buffer into the Hive column's byte buffer. */
+  private static void copyBytes(
+      BaseVariableWidthVector src, int srcStart, BytesColumnVector dst, int dstStart, int count) {
+    for (int i = 0; i < count; i++) {
+      if (dst.isNull[dstStart + i]) {
+        continue;
+      }
+      int length = src.getValueLength(srcStart + i);
+      dst.ensureValPreallocated(length);
+      src.getDataBuffer()
+          .getBytes(
+              src.getStartOffset(srcStart + i),
+              dst.getValPreallocatedBytes(),
+              dst.getValPreallocatedStart(),
+              length);
+      dst.setValPreallocated(dstStart + i, length);
+    }
+  }
+
+  @Override
+  public NullWritable createKey() {
+    return NullWritable.get();
+  }
+
+  @Override
+  public VectorizedRowBatch createValue() {
+    return rbCtx.createVectorizedRowBatch();
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    return readProgress.getPos();
+  }
+
+  @Override
+  public float getProgress() throws IOException {
+    return readProgress.getProgress();
+  }
+
+  @Override
+  public void close() throws IOException {
+    arrowBatchReader.close();
+  }
+}
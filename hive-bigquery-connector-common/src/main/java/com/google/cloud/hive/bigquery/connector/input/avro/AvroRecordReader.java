@@ -17,88 +17,142 @@ package com.google.cloud.hive.bigquery.connector.input.avro;
 
 import com.google.cloud.bigquery.storage.v1.ReadRowsResponse;
 import com.google.cloud.hive.bigquery.connector.BigQuerySerDe;
+import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
 import com.google.cloud.hive.bigquery.connector.input.BigQueryInputSplit;
-import com.google.cloud.hive.bigquery.connector.utils.avro.AvroUtils;
-import com.google.protobuf.ByteString;
+import com.google.cloud.hive.bigquery.connector.input.DynamicStreamReader;
+import com.google.cloud.hive.bigquery.connector.input.PrefetchingIterator;
+import com.google.cloud.hive.bigquery.connector.input.ReadProgress;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Parser;
-import org.apache.avro.generic.GenericDatumReader;
-import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DecoderFactory;
-import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.ObjectWritable;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
 
 /**
  * Reads Avro-formatted records returned by the BigQuery Storage Read API responses and serializes
  * those records into a format that Hive can handle.
+ *
+ * <p>If the `bq.read.prefetch.batches` property is set, the responses are fetched and decoded by a
+ * background thread, which stays up to that many responses ahead of the reader.
  */
 public class AvroRecordReader implements RecordReader<NullWritable, ObjectWritable> {
 
   private final Parser parser = new Parser();
-  private final Iterator<ReadRowsResponse> responseIterator;
-  private Iterator<GenericRecord> recordIterator;
-  private Schema schema;
+  private final DynamicStreamReader streamReader;
+  private final Iterator<Batch> batchIterator;
+  private final PrefetchingIterator<Batch> prefetchingIterator;
+  private final ReadProgress readProgress;
+  private Iterator<Object[]> rowIterator;
+  // Created when the schema is received with the first response, then reused for the whole split
+  private AvroRowDecoder rowDecoder;
+  private BinaryDecoder decoder;
   private final List<String> columnNames;
   private final StructObjectInspector rowObjectInspector;
   private final JobConf jobConf;
+  private final Reporter reporter;
 
-  public AvroRecordReader(BigQueryInputSplit inputSplit, JobConf jobConf) {
+  public AvroRecordReader(BigQueryInputSplit inputSplit, JobConf jobConf, Reporter reporter) {
     this.jobConf = jobConf;
-    this.responseIterator = inputSplit.getReadRowsHelper().readRows();
-    this.recordIterator = Collections.emptyIterator();
+    this.reporter = reporter;
+    this.streamReader = inputSplit.createStreamReader();
+    this.readProgress = inputSplit.createReadProgress();
+    this.rowIterator = Collections.emptyIterator();
     this.columnNames = inputSplit.getColumnNames();
     this.rowObjectInspector = BigQuerySerDe.getRowObjectInspector(jobConf);
-  }
-
-  /**
-   * Converts the given Avro-formatted record into a serialized object made of "Writable" components
-   * that Hive can handle.
-   */
-  private Object serializeRow(GenericRecord record) {
-    Schema actualSchema = AvroUtils.getSchemaInfo(record.getSchema()).getActualSchema();
-    List<Schema.Field> fields = actualSchema.getFields();
-    Object[] row = new Object[columnNames.size()];
-    for (Schema.Field field : fields) {
-      int colIndex = columnNames.indexOf(field.name().toLowerCase());
-      ObjectInspector fieldObjectInspector =
-          rowObjectInspector.getStructFieldRef(field.name()).getFieldObjectInspector();
-      row[colIndex] =
-          AvroSerializer.serialize(record.get(field.name()), fieldObjectInspector, field.schema());
+    int prefetchBatches = jobConf.getInt(HiveBigQueryConfig.READ_PREFETCH_BATCHES_KEY, 0);
+    if (prefetchBatches > 0) {
+      // Decode each response entirely in the background thread
+      prefetchingIterator =
+          new PrefetchingIterator<>(
+              new BatchIterator(streamReader, true),
+              prefetchBatches,
+              "bq-prefetch-" + inputSplit.getName(),
+              batch -> {});
+      batchIterator = prefetchingIterator;
+    } else {
+      prefetchingIterator = null;
+      batchIterator = new BatchIterator(streamReader, false);
     }
-    return row;
   }
 
   @Override
   public float getProgress() {
-    // TODO
-    return -1;
+    return readProgress.getProgress();
   }
 
   @Override
   public boolean next(NullWritable nullWritable, ObjectWritable objectWritable) {
-    if (responseIterator.hasNext() && !recordIterator.hasNext()) {
-      ReadRowsResponse response = responseIterator.next();
-      if (schema == null) {
-        schema = parser.parse(response.getAvroSchema().getSchema());
+    while (!rowIterator.hasNext()) {
+      if (!batchIterator.hasNext()) {
+        readProgress.finish();
+        return false;
       }
-      recordIterator =
-          new AvroRecordIterator(schema, response.getAvroRows().getSerializedBinaryRows());
+      Batch batch = batchIterator.next();
+      rowIterator = batch.rows;
+      readProgress.startBatch(batch.stats);
+    }
+    objectWritable.set(rowIterator.next());
+    readProgress.consumeRows(1);
+    return true;
+  }
+
+  /** Rows contained in a BQ read response, along with the response's stats. */
+  private static class Batch {
+    private final Iterator<Object[]> rows;
+    private final ReadProgress.ResponseStats stats;
+
+    Batch(Iterator<Object[]> rows, ReadProgress.ResponseStats stats) {
+      this.rows = rows;
+      this.stats = stats;
+    }
+  }
+
+  /**
+   * Returns an iterator over the rows contained in each BQ read response. If `eager` is true, the
+   * rows are decoded right away. Otherwise, they are decoded as they are consumed.
+   */
+  private class BatchIterator extends AbstractIterator<Batch> {
+
+    private final Iterator<ReadRowsResponse> responseIterator;
+    private final boolean eager;
+
+    BatchIterator(Iterator<ReadRowsResponse> responseIterator, boolean eager) {
+      this.responseIterator = responseIterator;
+      this.eager = eager;
     }
-    if (recordIterator.hasNext()) {
-      GenericRecord avroRecord = recordIterator.next();
-      objectWritable.set(serializeRow(avroRecord));
-      return true;
+
+    @Override
+    protected Batch computeNext() {
+      if (!responseIterator.hasNext()) {
+        return endOfData();
+      }
+      ReadRowsResponse response = responseIterator.next();
+      if (rowDecoder == null) {
+        Schema schema = parser.parse(response.getAvroSchema().getSchema());
+        rowDecoder = new AvroRowDecoder(schema, columnNames, rowObjectInspector);
+      }
+      // The previous response's records have all been read at this point, so its decoder can be
+      // reused
+      decoder =
+          DecoderFactory.get()
+              .binaryDecoder(
+                  response.getAvroRows().getSerializedBinaryRows().toByteArray(), decoder);
+      Iterator<Object[]> rows = new AvroRowIterator(rowDecoder, decoder);
+      return new Batch(
+          eager ? ImmutableList.copyOf(rows).iterator() : rows,
+          new ReadProgress.ResponseStats(response));
     }
-    return false;
   }
 
   @Override
@@ -113,21 +167,27 @@ public class AvroRecordReader implements RecordReader<NullWritable, ObjectWritab
 
   @Override
   public long getPos() throws IOException {
-    // TODO
-    return -1;
+    return readProgress.getPos();
   }
 
   @Override
-  public void close() {}
+  public void close() {
+    // Closing the stream first unblocks the prefetching thread if it's waiting for a response
+    streamReader.close();
+    if (prefetchingIterator != null) {
+      prefetchingIterator.close();
+      prefetchingIterator.reportCounters(reporter);
+    }
+  }
 
-  private static class AvroRecordIterator implements Iterator<GenericRecord> {
+  private static class AvroRowIterator implements Iterator<Object[]> {
 
+    private final AvroRowDecoder rowDecoder;
     private final BinaryDecoder in;
-    private final GenericDatumReader<GenericRecord> reader;
 
-    AvroRecordIterator(Schema schema, ByteString bytes) {
-      reader = new GenericDatumReader<>(schema);
-      in = new DecoderFactory().binaryDecoder(bytes.toByteArray(), null);
+    AvroRowIterator(AvroRowDecoder rowDecoder, BinaryDecoder in) {
+      this.rowDecoder = rowDecoder;
+      this.in = in;
     }
 
     @Override
@@ -140,9 +200,9 @@ public class AvroRecordReader implements RecordReader<NullWritable, ObjectWritab
     }
 
     @Override
-    public GenericRecord next() {
+    public Object[] next() {
       try {
-        return reader.read(/* reuse= */ null, in);
+        return rowDecoder.decode(in);
       } catch (IOException e) {
         throw new RuntimeException("Failed to read more records", e);
       }
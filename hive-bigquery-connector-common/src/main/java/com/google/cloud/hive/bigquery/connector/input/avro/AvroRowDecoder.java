@@ -0,0 +1,247 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input.avro;
+
+import com.google.cloud.hive.bigquery.connector.HiveCompat;
+import com.google.cloud.hive.bigquery.connector.utils.avro.AvroSchemaInfo;
+import com.google.cloud.hive.bigquery.connector.utils.avro.AvroUtils;
+import com.google.cloud.hive.bigquery.connector.utils.hive.KeyValueObjectInspector;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.avro.Schema;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.util.Utf8;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.serde2.io.*;
+import org.apache.hadoop.hive.serde2.io.ByteWritable;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.io.ShortWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.*;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.*;
+import org.apache.hadoop.io.*;
+
+/**
+ * Decodes Avro-formatted rows that were read from BigQuery straight into the serialized format that
+ * Hive understands, i.e. arrays of "Writable" components, without going through intermediate Avro
+ * GenericRecord objects.
+ *
+ * <p>The decoder is specialized for a given Avro schema: the type of each value, and whether it is
+ * nullable, is resolved once when the decoder is created, rather than for every value.
+ */
+public class AvroRowDecoder {
+
+  /** Reads a value from an Avro decoder and converts it to a Hive-compatible format. */
+  private interface ValueReader {
+    Object read(Decoder in) throws IOException;
+  }
+
+  private final int numColumns;
+  private final int[] columnIndexes;
+  private final ValueReader[] fieldReaders;
+
+  /**
+   * Creates a decoder for the given Avro record schema. Each field of the record is written to the
+   * position of the corresponding column in the Hive row.
+   */
+  public AvroRowDecoder(
+      Schema recordSchema, List<String> columnNames, StructObjectInspector rowObjectInspector) {
+    List<Schema.Field> fields = AvroUtils.getSchemaInfo(recordSchema).getActualSchema().getFields();
+    numColumns = columnNames.size();
+    columnIndexes = new int[fields.size()];
+    fieldReaders = new ValueReader[fields.size()];
+    for (Schema.Field field : fields) {
+      int colIndex = columnNames.indexOf(field.name().toLowerCase());
+      if (colIndex == -1) {
+        throw new RuntimeException(
+            "Unable to find column " + field.name() + " in columns " + columnNames);
+      }
+      columnIndexes[field.pos()] = colIndex;
+      fieldReaders[field.pos()] =
+          createReader(
+              field.schema(),
+              rowObjectInspector.getStructFieldRef(field.name()).getFieldObjectInspector());
+    }
+  }
+
+  /** Reads the next row from the given Avro decoder. */
+  public Object[] decode(Decoder in) throws IOException {
+    Object[] row = new Object[numColumns];
+    for (int i = 0; i < fieldReaders.length; i++) {
+      row[columnIndexes[i]] = fieldReaders[i].read(in);
+    }
+    return row;
+  }
+
+  private static ValueReader createReader(Schema schema, ObjectInspector objectInspector) {
+    AvroSchemaInfo schemaInfo = AvroUtils.getSchemaInfo(schema);
+    ValueReader reader = createNonNullReader(schemaInfo.getActualSchema(), objectInspector);
+    if (!schemaInfo.isNullable()) {
+      return reader;
+    }
+    // Nullable values are represented as a union of NULL and the actual type
+    int nullIndex = schema.getTypes().get(0).getType() == Schema.Type.NULL ? 0 : 1;
+    return in -> {
+      if (in.readIndex() == nullIndex) {
+        in.readNull();
+        return null;
+      }
+      return reader.read(in);
+    };
+  }
+
+  private static ValueReader createNonNullReader(Schema schema, ObjectInspector objectInspector) {
+    if (objectInspector instanceof ListObjectInspector) { // Array/List type
+      ListObjectInspector loi = (ListObjectInspector) objectInspector;
+      ValueReader elementReader =
+          createReader(schema.getElementType(), loi.getListElementObjectInspector());
+      return in -> {
+        List<Object> items = new ArrayList<>();
+        for (long n = in.readArrayStart(); n != 0; n = in.arrayNext()) {
+          for (long i = 0; i < n; i++) {
+            items.add(elementReader.read(in));
+          }
+        }
+        return items.toArray();
+      };
+    }
+
+    if (objectInspector instanceof MapObjectInspector) { // Map type
+      // Maps are stored in BigQuery as repeated key/value records
+      KeyValueObjectInspector kvoi =
+          KeyValueObjectInspector.create((MapObjectInspector) objectInspector);
+      ValueReader entryReader = createReader(schema.getElementType(), kvoi);
+      return in -> {
+        Map<Object, Object> map = new HashMap<>();
+        for (long n = in.readArrayStart(); n != 0; n = in.arrayNext()) {
+          for (long i = 0; i < n; i++) {
+            Object[] entry = (Object[]) entryReader.read(in);
+            map.put(entry[0], entry[1]);
+          }
+        }
+        return map;
+      };
+    }
+
+    if (objectInspector instanceof StructObjectInspector) { // Record/Struct type
+      StructObjectInspector soi = (StructObjectInspector) objectInspector;
+      List<Schema.Field> fields = schema.getFields();
+      ValueReader[] fieldReaders = new ValueReader[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        Schema.Field field = fields.get(i);
+        fieldReaders[i] =
+            createReader(
+                field.schema(), soi.getStructFieldRef(field.name()).getFieldObjectInspector());
+      }
+      return in -> {
+        Object[] values = new Object[fieldReaders.length];
+        for (int i = 0; i < fieldReaders.length; i++) {
+          values[i] = fieldReaders[i].read(in);
+        }
+        return values;
+      };
+    }
+
+    if (objectInspector instanceof ByteObjectInspector) { // Tiny Int
+      return in -> new ByteWritable((byte) in.readLong());
+    }
+
+    if (objectInspector instanceof ShortObjectInspector) { // Small Int
+      return in -> new ShortWritable((short) in.readLong());
+    }
+
+    if (objectInspector instanceof IntObjectInspector) { // Regular Int
+      return in -> new IntWritable((int) in.readLong());
+    }
+
+    if (objectInspector instanceof LongObjectInspector) { // Big Int
+      return in -> new LongWritable(in.readLong());
+    }
+
+    if (objectInspector instanceof FloatObjectInspector) {
+      return in -> new FloatWritable((float) in.readDouble());
+    }
+
+    if (objectInspector instanceof DoubleObjectInspector) {
+      return in -> new DoubleWritable(in.readDouble());
+    }
+
+    if (objectInspector instanceof BooleanObjectInspector) {
+      return in -> new BooleanWritable(in.readBoolean());
+    }
+
+    if (objectInspector instanceof HiveDecimalObjectInspector) {
+      int scale = AvroUtils.getPropAsInt(schema, "scale");
+      return in -> {
+        BigDecimal bigDecimal = new BigDecimal(new BigInteger(readBytes(in)), scale);
+        return new HiveDecimalWritable(HiveDecimal.create(bigDecimal));
+      };
+    }
+
+    if (objectInspector instanceof BinaryObjectInspector) {
+      return in -> new BytesWritable(readBytes(in));
+    }
+
+    if (objectInspector instanceof StringObjectInspector
+        || objectInspector instanceof HiveVarcharObjectInspector
+        || objectInspector instanceof HiveCharObjectInspector) {
+      // Copy the UTF-8 bytes as-is instead of decoding them into a String and re-encoding them
+      Utf8 buffer = new Utf8();
+      return in -> {
+        Utf8 utf8 = in.readString(buffer);
+        Text text = new Text();
+        text.set(utf8.getBytes(), 0, utf8.getByteLength());
+        return text;
+      };
+    }
+
+    // Date and time types are handled differently depending on the Hive version
+    return in -> {
+      Object value = readPrimitive(schema, in);
+      Object converted = HiveCompat.getInstance().convertTimeUnitFromAvro(objectInspector, value);
+      if (converted == null) {
+        throw new UnsupportedOperationException("Unsupported Avro type: " + schema);
+      }
+      return converted;
+    };
+  }
+
+  /** Reads a primitive value in the same representation as Avro's generic datum reader. */
+  private static Object readPrimitive(Schema schema, Decoder in) throws IOException {
+    switch (schema.getType()) {
+      case INT:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case STRING:
+        return in.readString(null);
+      default:
+        throw new UnsupportedOperationException("Unsupported Avro type: " + schema);
+    }
+  }
+
+  private static byte[] readBytes(Decoder in) throws IOException {
+    ByteBuffer buffer = in.readBytes(null);
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
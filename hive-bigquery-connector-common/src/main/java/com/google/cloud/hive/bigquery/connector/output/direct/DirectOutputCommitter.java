@@ -15,17 +15,12 @@
  */
 package com.google.cloud.hive.bigquery.connector.output.direct;
 
-import com.google.cloud.bigquery.connector.common.BigQueryClient;
-import com.google.cloud.bigquery.connector.common.BigQueryClientFactory;
-import com.google.cloud.bigquery.connector.common.BigQueryClientModule;
 import com.google.cloud.hive.bigquery.connector.JobDetails;
+import com.google.cloud.hive.bigquery.connector.config.BigQueryClients;
 import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
-import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConnectorModule;
 import com.google.cloud.hive.bigquery.connector.utils.FileSystemUtils;
 import com.google.cloud.hive.bigquery.connector.utils.JobUtils;
 import com.google.common.base.Joiner;
-import com.google.inject.Guice;
-import com.google.inject.Injector;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -72,41 +67,35 @@ public class DirectOutputCommitter {
             + Joiner.on(",").join(streamFiles)
             + "]");
 
-    Injector injector =
-        Guice.createInjector(
-            new BigQueryClientModule(),
-            new HiveBigQueryConnectorModule(conf, jobDetails.getTableProperties()));
-    BigQueryClient bqClient = injector.getInstance(BigQueryClient.class);
-    BigQueryClientFactory bqClientFactory = injector.getInstance(BigQueryClientFactory.class);
-    // Finally, make the new data available in the destination table by committing the streams
-    DirectWriterContext writerContext =
-        new DirectWriterContext(
-            bqClient,
-            bqClientFactory,
-            jobDetails.getTableId(),
-            jobDetails.getFinalTableId(),
-            jobDetails.isDeleteTableOnAbort());
-    try {
-      writerContext.commit(streamNames);
-    } finally {
-      writerContext.clean(false);
+    try (BigQueryClients clients =
+        BigQueryClients.acquire(conf, jobDetails.getTableProperties())) {
+      // Finally, make the new data available in the destination table by committing the streams
+      DirectWriterContext writerContext =
+          new DirectWriterContext(
+              clients.getBigQueryClient(),
+              clients.getBigQueryClientFactory(),
+              jobDetails.getTableId(),
+              jobDetails.getFinalTableId(),
+              jobDetails.isDeleteTableOnAbort());
+      try {
+        writerContext.commit(streamNames);
+      } finally {
+        writerContext.clean(false);
+      }
     }
   }
 
   public static void abortJob(Configuration conf, JobDetails jobDetails) {
-    Injector injector =
-        Guice.createInjector(
-            new BigQueryClientModule(),
-            new HiveBigQueryConnectorModule(conf, jobDetails.getTableProperties()));
-    BigQueryClient bqClient = injector.getInstance(BigQueryClient.class);
-    BigQueryClientFactory bqClientFactory = injector.getInstance(BigQueryClientFactory.class);
-    DirectWriterContext writerContext =
-        new DirectWriterContext(
-            bqClient,
-            bqClientFactory,
-            jobDetails.getTableId(),
-            jobDetails.getFinalTableId(),
-            jobDetails.isDeleteTableOnAbort());
-    writerContext.clean(true);
+    try (BigQueryClients clients =
+        BigQueryClients.acquire(conf, jobDetails.getTableProperties())) {
+      DirectWriterContext writerContext =
+          new DirectWriterContext(
+              clients.getBigQueryClient(),
+              clients.getBigQueryClientFactory(),
+              jobDetails.getTableId(),
+              jobDetails.getFinalTableId(),
+              jobDetails.isDeleteTableOnAbort());
+      writerContext.clean(true);
+    }
   }
 }
@@ -15,18 +15,13 @@
  */
 package com.google.cloud.hive.bigquery.connector.output.direct;
 
-import com.google.api.gax.rpc.HeaderProvider;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.bigquery.connector.common.BigQueryClientFactory;
-import com.google.cloud.bigquery.connector.common.BigQueryClientModule;
-import com.google.cloud.bigquery.connector.common.BigQueryCredentialsSupplier;
 import com.google.cloud.bigquery.connector.common.BigQueryDirectDataWriterHelper;
 import com.google.cloud.bigquery.storage.v1.ProtoSchema;
+import com.google.cloud.hive.bigquery.connector.config.BigQueryClients;
 import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
-import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConnectorModule;
 import com.google.common.base.Optional;
-import com.google.inject.Guice;
-import com.google.inject.Injector;
 import java.util.Properties;
 import org.apache.hadoop.mapred.JobConf;
 
@@ -38,16 +33,11 @@ public class DirectUtils {
   public static BigQueryClientFactory getOrCreateWriteClientFactory(
       JobConf jobConf, Properties tableProperties) {
     if (bigqueryWriteClientFactory == null) {
-      Injector injector =
-          Guice.createInjector(
-              new BigQueryClientModule(),
-              new HiveBigQueryConnectorModule(jobConf, tableProperties));
-      HeaderProvider headerProvider = injector.getInstance(HeaderProvider.class);
-      BigQueryCredentialsSupplier credentialsSupplier =
-          injector.getInstance(BigQueryCredentialsSupplier.class);
-      HiveBigQueryConfig opts = injector.getInstance(HiveBigQueryConfig.class);
-      bigqueryWriteClientFactory =
-          new BigQueryClientFactory(credentialsSupplier, headerProvider, opts);
+      try (BigQueryClients clients = BigQueryClients.acquire(jobConf, tableProperties)) {
+        bigqueryWriteClientFactory =
+            new BigQueryClientFactory(
+                clients.getCredentialsSupplier(), clients.getHeaderProvider(), clients.getConfig());
+      }
     }
     return bigqueryWriteClientFactory;
   }
@@ -59,10 +49,7 @@ public class DirectUtils {
    */
   public static BigQueryDirectDataWriterHelper createStreamWriter(
       JobConf jobConf, TableId tableId, Properties tableProperties, ProtoSchema schema) {
-    Injector injector =
-        Guice.createInjector(
-            new BigQueryClientModule(), new HiveBigQueryConnectorModule(jobConf, tableProperties));
-    HiveBigQueryConfig opts = injector.getInstance(HiveBigQueryConfig.class);
+    HiveBigQueryConfig opts = HiveBigQueryConfig.from(jobConf, tableProperties);
     BigQueryClientFactory writeClientFactory =
         getOrCreateWriteClientFactory(jobConf, tableProperties);
     String tablePath =
@@ -21,29 +21,23 @@ import org.apache.avro.Schema;
  * Simple class that holds some information about an Avro Schema. This is used primarily to deal
  * with UNION type objects, which are a union of two components: "null" (if the type is nullable)
  * and a primitive Avro type. This class essentially decouples those two components.
+ *
+ * <p>Instances are immutable, as they are cached and shared by {@link AvroUtils#getSchemaInfo}.
  */
 public class AvroSchemaInfo {
 
-  private Schema actualSchema;
-  private boolean nullable;
+  private final Schema actualSchema;
+  private final boolean nullable;
 
   public AvroSchemaInfo(Schema actualSchema, boolean nullable) {
     this.actualSchema = actualSchema;
     this.nullable = nullable;
   }
 
-  public void setActualSchema(Schema actualSchema) {
-    this.actualSchema = actualSchema;
-  }
-
   public Schema getActualSchema() {
     return actualSchema;
   }
 
-  public void setNullable(boolean nullable) {
-    this.nullable = nullable;
-  }
-
   public boolean isNullable() {
     return nullable;
   }
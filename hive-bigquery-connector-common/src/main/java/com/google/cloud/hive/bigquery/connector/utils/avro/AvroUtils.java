@@ -18,6 +18,8 @@ package com.google.cloud.hive.bigquery.connector.utils.avro;
 import com.google.cloud.bigquery.FieldList;
 import com.google.cloud.hive.bigquery.connector.HiveCompat;
 import com.google.cloud.hive.bigquery.connector.JobDetails;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -42,6 +44,14 @@ import org.codehaus.jackson.map.ObjectMapper;
 
 public class AvroUtils {
 
+  /**
+   * Caches the result of {@link #getSchemaInfo} for each schema instance, as it is called for every
+   * value that is read or written. The keys are weak, so they are compared by identity (which
+   * avoids computing the schemas' deep hash codes) and released once the schemas are discarded.
+   */
+  private static final Cache<Schema, AvroSchemaInfo> schemaInfoCache =
+      CacheBuilder.newBuilder().weakKeys().build();
+
   /**
    * Hive vendors Avro libraries that have different methods depending on the Hive version used.
    * Here we dynamically figure out which Avro methods are available so we can use the proper ones
@@ -165,16 +175,22 @@ public class AvroUtils {
    * essentially decouples and returns those two components.
    */
   public static AvroSchemaInfo getSchemaInfo(Schema fieldSchema) {
-    AvroSchemaInfo schemaInfo = new AvroSchemaInfo(fieldSchema, false);
+    AvroSchemaInfo schemaInfo = schemaInfoCache.getIfPresent(fieldSchema);
+    if (schemaInfo == null) {
+      schemaInfo = computeSchemaInfo(fieldSchema);
+      schemaInfoCache.put(fieldSchema, schemaInfo);
+    }
+    return schemaInfo;
+  }
+
+  private static AvroSchemaInfo computeSchemaInfo(Schema fieldSchema) {
     // Check if field is nullable, which is represented as an UNION of NULL and primitive type.
-    if (schemaInfo.getActualSchema().getType() == Schema.Type.UNION) {
+    if (fieldSchema.getType() == Schema.Type.UNION) {
       if (fieldSchema.getTypes().size() == 2) {
         if (fieldSchema.getTypes().get(0).getType() == Schema.Type.NULL) {
-          schemaInfo.setNullable(true);
-          schemaInfo.setActualSchema(fieldSchema.getTypes().get(1));
+          return new AvroSchemaInfo(fieldSchema.getTypes().get(1), true);
         } else if (fieldSchema.getTypes().get(1).getType() == Schema.Type.NULL) {
-          schemaInfo.setNullable(true);
-          schemaInfo.setActualSchema(fieldSchema.getTypes().get(0));
+          return new AvroSchemaInfo(fieldSchema.getTypes().get(0), true);
         } else {
           throw new RuntimeException("Unexpected type: " + fieldSchema);
         }
@@ -182,7 +198,7 @@ public class AvroUtils {
         throw new RuntimeException("Unexpected type: " + fieldSchema);
       }
     }
-    return schemaInfo;
+    return new AvroSchemaInfo(fieldSchema, false);
   }
 
   /**
@@ -30,9 +30,13 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.apache.hadoop.hive.common.StatsSetupConst;
 import org.apache.hadoop.hive.metastore.api.Table;
 
@@ -121,4 +125,70 @@ public class BigQueryUtils {
     stats.put(StatsSetupConst.NUM_FILES, "0");
     return stats;
   }
+
+  /**
+   * Estimates the number of bytes that reading the given fields of a table would scan, assuming
+   * that all top-level fields have the same size. Returns an empty value if the table's size is
+   * unknown, e.g. for views and external tables.
+   */
+  public static OptionalLong estimateBytesToRead(
+      BigQueryClient bqClient, TableId tableId, Collection<String> selectedFields) {
+    TableInfo tableInfo = bqClient.getTable(tableId);
+    if (tableInfo == null
+        || tableInfo.getNumBytes() == null
+        || tableInfo.getDefinition().getSchema() == null) {
+      return OptionalLong.empty();
+    }
+    int numFields = tableInfo.getDefinition().getSchema().getFields().size();
+    if (numFields == 0) {
+      return OptionalLong.of(0);
+    }
+    int numSelectedFields = Math.min(selectedFields.size(), numFields);
+    return OptionalLong.of(tableInfo.getNumBytes() / numFields * numSelectedFields);
+  }
+
+  /**
+   * Returns the exact number of rows in the given table, as reported by the table's metadata.
+   * Returns an empty value if the metadata doesn't provide an exact count, e.g. for views and
+   * external tables, or for tables with rows in their streaming buffer, which aren't counted.
+   */
+  public static OptionalLong getExactRowCount(TableInfo tableInfo) {
+    if (tableInfo == null
+        || tableInfo.getNumRows() == null
+        || !(tableInfo.getDefinition() instanceof StandardTableDefinition)) {
+      return OptionalLong.empty();
+    }
+    StandardTableDefinition definition = tableInfo.getDefinition();
+    if (definition.getStreamingBuffer() != null) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(tableInfo.getNumRows().longValueExact());
+  }
+
+  /**
+   * Runs the given query into a new temporary table of the materialization dataset, which expires
+   * after `materializationExpirationTimeInMinutes`. Unlike BigQueryClient's
+   * materializeQueryToTable, this always runs the query, so that the results reflect the current
+   * data of the queried tables.
+   */
+  public static TableId materializeQuery(
+      BigQueryClient bqClient, String query, HiveBigQueryConfig opts) {
+    TableId tableId =
+        TableId.of(
+            opts.getMaterializationProject().orElse(bqClient.getProjectId()),
+            opts.getMaterializationDataset().get(),
+            "_hive_bq_query_" + UUID.randomUUID().toString().replace("-", ""));
+    bqClient.createAndWaitFor(
+        QueryJobConfiguration.newBuilder(query)
+            .setDestinationTable(tableId)
+            .setPriority(opts.getQueryJobPriority())
+            .setLabels(opts.getBigQueryJobLabels())
+            .build());
+    long expirationTime =
+        System.currentTimeMillis()
+            + TimeUnit.MINUTES.toMillis(opts.getMaterializationExpirationTimeInMinutes());
+    bqClient.update(
+        bqClient.getTable(tableId).toBuilder().setExpirationTime(expirationTime).build());
+    return tableId;
+  }
 }
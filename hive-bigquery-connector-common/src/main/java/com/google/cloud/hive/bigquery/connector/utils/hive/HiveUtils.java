@@ -15,6 +15,7 @@
  */
 package com.google.cloud.hive.bigquery.connector.utils.hive;
 
+import com.google.cloud.hive.bigquery.connector.HiveCompat;
 import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
 import com.google.cloud.hive.bigquery.connector.utils.hcatalog.HCatalogUtils;
 import java.util.Map;
@@ -24,6 +25,10 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.conf.HiveConf;
 import org.apache.hadoop.hive.conf.HiveConf.ConfVars;
 import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.ql.exec.Operator;
+import org.apache.hadoop.hive.ql.plan.LimitDesc;
+import org.apache.hadoop.hive.ql.plan.OperatorDesc;
+import org.apache.hadoop.hive.ql.plan.SelectDesc;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.JobID;
 import org.apache.hadoop.mapred.TaskAttemptID;
@@ -61,6 +66,26 @@ public class HiveUtils {
     return colNames != null && !colNames.isEmpty() ? colNames.split(",") : new String[0];
   }
 
+  /**
+   * Returns the maximum number of rows that the given table scan needs to produce, i.e. the limit
+   * of the LIMIT clause that its rows reach through column selections only, or -1 if there's no
+   * such clause.
+   */
+  public static long getRowLimit(Operator<? extends OperatorDesc> tableScan) {
+    Operator<? extends OperatorDesc> op = tableScan;
+    while (op.getChildOperators() != null && op.getChildOperators().size() == 1) {
+      op = op.getChildOperators().get(0);
+      if (op.getConf() instanceof LimitDesc) {
+        LimitDesc limitDesc = (LimitDesc) op.getConf();
+        return (long) limitDesc.getLimit() + HiveCompat.getInstance().getLimitOffset(limitDesc);
+      }
+      if (!(op.getConf() instanceof SelectDesc)) {
+        break;
+      }
+    }
+    return -1;
+  }
+
   /** Returns the query's unique id. */
   public static String getQueryId(Configuration conf) {
     if (!conf.get(HiveBigQueryConfig.QUERY_ID, "").isEmpty()) {
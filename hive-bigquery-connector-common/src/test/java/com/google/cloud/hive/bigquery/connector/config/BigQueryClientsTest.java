@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.hadoop.conf.Configuration;
+import org.junit.jupiter.api.Test;
+
+public class BigQueryClientsTest {
+
+  private static Configuration createConf(String credentialsFile, String table) {
+    Configuration conf = new Configuration();
+    conf.set("hive.query.id", "abcd");
+    conf.set(HiveBigQueryConfig.CREDENTIALS_FILE_KEY, credentialsFile);
+    conf.set(HiveBigQueryConfig.TABLE_KEY, table);
+    return conf;
+  }
+
+  @Test
+  public void testSharedClients() {
+    int numEntries = BigQueryClients.getNumEntries();
+    try (BigQueryClients first = BigQueryClients.acquire(createConf("shared.json", "p.d.t1"));
+        BigQueryClients second = BigQueryClients.acquire(createConf("shared.json", "p.d.t2"))) {
+      // The clients are shared, but each caller gets its own config
+      assertEquals(numEntries + 1, BigQueryClients.getNumEntries());
+      assertEquals("t1", first.getConfig().getTableId().getTable());
+      assertEquals("t2", second.getConfig().getTableId().getTable());
+    }
+  }
+
+  @Test
+  public void testDifferentCredentials() {
+    HiveBigQueryConfig first = HiveBigQueryConfig.from(createConf("first.json", "p.d.t"));
+    HiveBigQueryConfig second = HiveBigQueryConfig.from(createConf("second.json", "p.d.t"));
+    assertNotEquals(BigQueryClients.getClientKey(first), BigQueryClients.getClientKey(second));
+    assertEquals(
+        BigQueryClients.getClientKey(first),
+        BigQueryClients.getClientKey(HiveBigQueryConfig.from(createConf("first.json", "p.d.u"))));
+  }
+
+  @Test
+  public void testCopyClientSettings() {
+    Configuration conf = createConf("first.json", "p.d.t");
+    conf.set(HiveBigQueryConfig.VIEWS_ENABLED_KEY, "true");
+    conf.set(HiveBigQueryConfig.QUERY_JOB_PRIORITY_KEY, "batch");
+    conf.set(HiveBigQueryConfig.GPN_ATTRIBUTION, "gpn");
+    HiveBigQueryConfig opts = HiveBigQueryConfig.from(conf);
+    HiveBigQueryConfig copy = opts.copyClientSettings();
+    assertEquals(BigQueryClients.getClientKey(opts), BigQueryClients.getClientKey(copy));
+    // Nothing specific to the caller's table is kept
+    assertNull(copy.getTableId());
+  }
+
+  @Test
+  public void testEvictIdleEntries() {
+    try (BigQueryClients kept = BigQueryClients.acquire(createConf("kept.json", "p.d.t"))) {
+      BigQueryClients.acquire(createConf("evicted.json", "p.d.t")).close();
+      long now = System.currentTimeMillis();
+      BigQueryClients.evictIdleEntries(now + BigQueryClients.IDLE_TIMEOUT_MILLIS + 1);
+      int numEntries = BigQueryClients.getNumEntries();
+      // Only the idle entry was dropped, so only it must be created again
+      try (BigQueryClients evicted = BigQueryClients.acquire(createConf("evicted.json", "p.d.t"));
+          BigQueryClients stillKept = BigQueryClients.acquire(createConf("kept.json", "p.d.t"))) {
+        assertEquals(numEntries + 1, BigQueryClients.getNumEntries());
+      }
+    }
+  }
+}
@@ -16,12 +16,14 @@
 package com.google.cloud.hive.bigquery.connector.config;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.google.api.gax.retrying.RetrySettings;
 import com.google.cloud.bigquery.JobInfo.CreateDisposition;
 import com.google.cloud.bigquery.QueryJobConfiguration.Priority;
 import com.google.cloud.bigquery.TableId;
 import com.google.cloud.bigquery.TimePartitioning.Type;
+import com.google.cloud.bigquery.storage.v1.ArrowSerializationOptions.CompressionCodec;
 import com.google.cloud.bigquery.storage.v1.DataFormat;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -59,6 +61,7 @@ public abstract class HiveBigQueryConfigTestBase {
     HiveBigQueryConfig opts = injector.getInstance(HiveBigQueryConfig.class);
     assertThat(opts.getWriteMethod()).isEqualTo("direct");
     assertThat(opts.getTableId()).isEqualTo(null);
+    assertThat(opts.getQuery()).isEmpty();
     assertThat(opts.getTempGcsPath()).isEqualTo(null);
     assertThat(opts.getClusteredFields()).isEmpty();
     assertThat(opts.getPartitionField()).isEmpty();
@@ -70,6 +73,14 @@ public abstract class HiveBigQueryConfigTestBase {
     assertThat(opts.getPreferredMinParallelism()).isEmpty();
     assertThat(opts.getMaxParallelism()).isEmpty();
     assertThat(opts.getReadDataFormat()).isEqualTo(DataFormat.ARROW);
+    assertThat(opts.getArrowCompressionCodec())
+        .isEqualTo(CompressionCodec.COMPRESSION_UNSPECIFIED);
+    assertThat(opts.getReadSessionCacheTtlSeconds()).isEqualTo(300L);
+    assertThat(opts.isReadSessionPrefetch()).isFalse();
+    assertThat(opts.getSingleStreamLimit()).isEqualTo(1000L);
+    assertThat(opts.isReadMetadataRowCount()).isFalse();
+    assertThat(opts.getStreamSplitFraction()).isEqualTo(0.0);
+    assertThat(opts.getTargetBytesPerSplit()).isEqualTo(Optional.empty());
     assertThat(opts.isWriteAtLeastOnce()).isFalse();
     assertThat(opts.getAccessToken()).isEmpty();
     assertThat(opts.getAccessTokenProviderConfig()).isEmpty();
@@ -133,6 +144,13 @@ public abstract class HiveBigQueryConfigTestBase {
     conf.set("bq.temp.gcs.path", "gs://example/abcd");
     conf.set("bq.read.data.format", "avro");
     conf.set("bq.read.create.session.timeout", "999");
+    conf.set("bq.read.arrow.compression.codec", "zstd");
+    conf.set("bq.read.session.cache.ttl.seconds", "0");
+    conf.set("bq.read.session.prefetch", "true");
+    conf.set("bq.read.single.stream.limit", "0");
+    conf.set("bq.read.metadata.row.count", "true");
+    conf.set("bq.read.target.bytes.per.split", "1048576");
+    conf.set("bq.read.stream.split.fraction", "0.6");
     conf.set("maxParallelism", "88");
     conf.set("preferredMinParallelism", "77");
     conf.set("bq.credentials.key", "KEYKEYKEY");
@@ -162,6 +180,13 @@ public abstract class HiveBigQueryConfigTestBase {
     assertThat(opts.getTempGcsPath()).isEqualTo("gs://example/abcd");
     assertThat(opts.getReadDataFormat()).isEqualTo(DataFormat.AVRO);
     assertThat(opts.getCreateReadSessionTimeoutInSeconds()).isEqualTo(Optional.of(999L));
+    assertThat(opts.getArrowCompressionCodec()).isEqualTo(CompressionCodec.ZSTD);
+    assertThat(opts.getReadSessionCacheTtlSeconds()).isEqualTo(0L);
+    assertThat(opts.isReadSessionPrefetch()).isTrue();
+    assertThat(opts.getSingleStreamLimit()).isEqualTo(0L);
+    assertThat(opts.isReadMetadataRowCount()).isTrue();
+    assertThat(opts.getStreamSplitFraction()).isEqualTo(0.6);
+    assertThat(opts.getTargetBytesPerSplit()).isEqualTo(Optional.of(1048576L));
     assertThat(opts.getMaxParallelism()).isEqualTo(OptionalInt.of(88));
     assertThat(opts.getPreferredMinParallelism()).isEqualTo(OptionalInt.of(77));
     assertThat(opts.getCredentialsKey()).isEqualTo(Optional.of("KEYKEYKEY"));
@@ -242,4 +267,20 @@ public abstract class HiveBigQueryConfigTestBase {
     assertThat(opts.getPartitionRequireFilter()).isEqualTo(Optional.of(false));
     assertThat(opts.getClusteredFields()).isEqualTo(Optional.of(Arrays.asList("d", "e")));
   }
+
+  @Test
+  public void testQueryTableProperty() {
+    Configuration conf = new Configuration();
+    conf.set("hive.query.id", "abcd");
+    conf.set("materializationDataset", "mydataset");
+    String query = "SELECT a, COUNT(*) AS c FROM mydataset.mytable GROUP BY a";
+    HiveBigQueryConfig opts = HiveBigQueryConfig.from(conf, ImmutableMap.of("bq.query", query));
+    assertThat(opts.getQuery()).isEqualTo(Optional.of(query));
+    assertThat(opts.getTableId()).isEqualTo(null);
+    // The query's results must be materialized into a dataset
+    conf.unset("materializationDataset");
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> HiveBigQueryConfig.from(conf, ImmutableMap.of("bq.query", query)));
+  }
 }
@@ -23,11 +23,13 @@ import org.apache.hadoop.hive.ql.exec.UDFArgumentException;
 import org.apache.hadoop.hive.ql.metadata.HiveException;
 import org.apache.hadoop.hive.ql.plan.ExprNodeColumnDesc;
 import org.apache.hadoop.hive.ql.plan.ExprNodeConstantDesc;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDF;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPAnd;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPEqual;
 import org.apache.hadoop.hive.ql.udf.generic.GenericUDFOPOr;
+import org.apache.hadoop.hive.ql.udf.generic.GenericUDFTrim;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoFactory;
 import org.junit.jupiter.api.Test;
@@ -111,4 +113,91 @@ public abstract class BigQueryFiltersTestBase {
     or.setChildren(Arrays.asList(equalA, customUDF, equalB));
     assertEquals(null, BigQueryFilters.translateFilters(or, conf));
   }
+
+  /** Ensure that only the conjuncts that BigQuery can't evaluate exactly are left to Hive. */
+  @Test
+  public void testResidualFilter() {
+    // Define: a = "abcd"
+    ExprNodeColumnDesc a = new ExprNodeColumnDesc();
+    a.setColumn("a");
+    a.setTypeInfo(TypeInfoFactory.stringTypeInfo);
+    ExprNodeConstantDesc abcd = new ExprNodeConstantDesc();
+    abcd.setValue("abcd");
+    abcd.setTypeInfo(TypeInfoFactory.stringTypeInfo);
+    ExprNodeGenericFuncDesc equalA = new ExprNodeGenericFuncDesc();
+    equalA.setGenericUDF(new GenericUDFOPEqual());
+    equalA.setChildren(Arrays.asList(a, abcd));
+
+    // Define: CustomUDF()
+    ExprNodeGenericFuncDesc customUDF = new ExprNodeGenericFuncDesc();
+    customUDF.setGenericUDF(new CustomUDF());
+
+    // a = "abcd" is evaluated exactly by BigQuery
+    assertNull(BigQueryFilters.getResidualFilter(equalA));
+
+    // a = "abcd" AND customUDF(): only customUDF() is left to Hive
+    ExprNodeGenericFuncDesc and = new ExprNodeGenericFuncDesc();
+    and.setGenericUDF(new GenericUDFOPAnd());
+    and.setChildren(Arrays.asList(equalA, customUDF));
+    assertSame(customUDF, BigQueryFilters.getResidualFilter(and));
+
+    // (a = "abcd" OR customUDF()) AND a = "abcd": the whole OR is left to Hive
+    ExprNodeGenericFuncDesc or = new ExprNodeGenericFuncDesc();
+    or.setGenericUDF(new GenericUDFOPOr());
+    or.setChildren(Arrays.asList(equalA, customUDF));
+    and = new ExprNodeGenericFuncDesc();
+    and.setGenericUDF(new GenericUDFOPAnd());
+    and.setChildren(Arrays.asList(or, equalA));
+    assertSame(or, BigQueryFilters.getResidualFilter(and));
+
+    // (customUDF() AND a = "abcd") AND customUDF(): both customUDF() calls are left to Hive
+    ExprNodeGenericFuncDesc nested = new ExprNodeGenericFuncDesc();
+    nested.setGenericUDF(new GenericUDFOPAnd());
+    nested.setChildren(Arrays.asList(customUDF, equalA));
+    and = new ExprNodeGenericFuncDesc();
+    and.setGenericUDF(new GenericUDFOPAnd());
+    and.setChildren(Arrays.asList(nested, customUDF));
+    ExprNodeGenericFuncDesc residual = BigQueryFilters.getResidualFilter(and);
+    assertTrue(residual.getGenericUDF() instanceof GenericUDFOPAnd);
+    assertEquals(Arrays.asList(customUDF, customUDF), residual.getChildren());
+
+    // The original expressions are left untouched
+    assertTrue(equalA.getGenericUDF() instanceof GenericUDFOPEqual);
+  }
+
+  /**
+   * Ensure that the UDFs that BigQuery evaluates differently are left to Hive, even though they are
+   * pushed. Hive's TRIM only strips spaces, while BigQuery's strips all whitespace.
+   */
+  @Test
+  public void testTrimIsResidual() {
+    // Define: a = "abcd"
+    ExprNodeColumnDesc a = new ExprNodeColumnDesc();
+    a.setColumn("a");
+    a.setTypeInfo(TypeInfoFactory.stringTypeInfo);
+    ExprNodeConstantDesc abcd = new ExprNodeConstantDesc();
+    abcd.setValue("abcd");
+    abcd.setTypeInfo(TypeInfoFactory.stringTypeInfo);
+    ExprNodeGenericFuncDesc equalA = new ExprNodeGenericFuncDesc();
+    equalA.setGenericUDF(new GenericUDFOPEqual());
+    equalA.setChildren(Arrays.asList(a, abcd));
+
+    // Define: trim(a) = "abcd"
+    ExprNodeGenericFuncDesc trimA = new ExprNodeGenericFuncDesc();
+    trimA.setGenericUDF(new GenericUDFTrim());
+    trimA.setChildren(Arrays.asList(a));
+    ExprNodeGenericFuncDesc equalTrimA = new ExprNodeGenericFuncDesc();
+    equalTrimA.setGenericUDF(new GenericUDFOPEqual());
+    equalTrimA.setChildren(Arrays.asList(trimA, abcd));
+
+    // trim(a) = "abcd" AND a = "abcd": trim(a) = "abcd" is left to Hive
+    ExprNodeGenericFuncDesc and = new ExprNodeGenericFuncDesc();
+    and.setGenericUDF(new GenericUDFOPAnd());
+    and.setChildren(Arrays.asList(equalTrimA, equalA));
+    assertSame(equalTrimA, BigQueryFilters.getResidualFilter(and));
+
+    // It is still pushed to BigQuery
+    ExprNodeDesc translated = BigQueryFilters.translateFilters(and, new Configuration());
+    assertEquals(2, translated.getChildren().size());
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.cloud.bigquery.storage.v1.ReadRowsRequest;
+import com.google.cloud.bigquery.storage.v1.ReadRowsResponse;
+import com.google.cloud.bigquery.storage.v1.StreamStats;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class DynamicStreamReaderTest {
+
+  private static DynamicStreamReader createReader(long rowLimit, long... rowCounts) {
+    ImmutableList.Builder<ReadRowsResponse> responses = ImmutableList.builder();
+    for (long rowCount : rowCounts) {
+      responses.add(ReadRowsResponse.newBuilder().setRowCount(rowCount).build());
+    }
+    return new DynamicStreamReader(responses.build().iterator(), rowLimit);
+  }
+
+  private static int countResponses(DynamicStreamReader reader) {
+    int count = 0;
+    while (reader.hasNext()) {
+      reader.next();
+      count++;
+    }
+    return count;
+  }
+
+  @Test
+  public void testSplitPoint() {
+    assertEquals(0.5, DynamicStreamReader.getSplitPoint(0), 1e-9);
+    assertEquals(0.75, DynamicStreamReader.getSplitPoint(0.5), 1e-9);
+    assertEquals(0.9, DynamicStreamReader.getSplitPoint(0.8), 1e-9);
+  }
+
+  @Test
+  public void testSplitRequests() {
+    List<ReadRowsRequest.Builder> requests =
+        DynamicStreamReader.getSplitRequests("primary", "remainder", 1500);
+    assertEquals(2, requests.size());
+    // The rows that were read from the original stream aren't read again
+    assertEquals("primary", requests.get(0).getReadStream());
+    assertEquals(1500, requests.get(0).getOffset());
+    assertEquals("remainder", requests.get(1).getReadStream());
+    assertEquals(0, requests.get(1).getOffset());
+  }
+
+  @Test
+  public void testProgressAfterSplit() {
+    // 1000 rows were read when the stream was split at 40% of its rows
+    StreamStats.Progress first =
+        DynamicStreamReader.getProgressStats(0.4, 1000, 1000, 1250).getProgress();
+    assertEquals(0.4, first.getAtResponseStart(), 1e-9);
+    assertEquals(0.5, first.getAtResponseEnd(), 1e-9);
+    StreamStats.Progress second =
+        DynamicStreamReader.getProgressStats(0.4, 1000, 1250, 1500).getProgress();
+    assertEquals(0.5, second.getAtResponseStart(), 1e-9);
+    assertEquals(0.6, second.getAtResponseEnd(), 1e-9);
+    // More rows than estimated: the progress stays below 1 until the reader is done
+    StreamStats.Progress last =
+        DynamicStreamReader.getProgressStats(0.4, 1000, 2500, 3000).getProgress();
+    assertEquals(DynamicStreamReader.MAX_PROGRESS_AFTER_SPLIT, last.getAtResponseStart(), 1e-9);
+    assertEquals(DynamicStreamReader.MAX_PROGRESS_AFTER_SPLIT, last.getAtResponseEnd(), 1e-9);
+  }
+
+  @Test
+  public void testRowLimit() {
+    assertEquals(3, countResponses(createReader(-1, 10, 10, 10)));
+    // Stops once the responses returned so far hold enough rows
+    assertEquals(2, countResponses(createReader(15, 10, 10, 10)));
+    assertEquals(2, countResponses(createReader(20, 10, 10, 10)));
+    assertEquals(3, countResponses(createReader(21, 10, 10, 10)));
+    assertFalse(createReader(0, 10).hasNext());
+  }
+}
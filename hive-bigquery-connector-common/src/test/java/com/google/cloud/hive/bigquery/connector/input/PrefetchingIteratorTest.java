@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PrefetchingIteratorTest {
+
+  @Test
+  public void testReturnsAllElementsInOrder() {
+    List<Integer> elements = ImmutableList.of(1, 2, 3, 4, 5);
+    try (PrefetchingIterator<Integer> iterator =
+        new PrefetchingIterator<>(elements.iterator(), 2, "test", element -> {})) {
+      assertEquals(elements, ImmutableList.copyOf(iterator));
+      assertFalse(iterator.hasNext());
+    }
+  }
+
+  @Test
+  public void testPropagatesFailures() {
+    Iterator<Integer> source =
+        Iterators.concat(
+            ImmutableList.of(1).iterator(),
+            Iterators.transform(
+                ImmutableList.of(2).iterator(),
+                element -> {
+                  throw new IllegalStateException("boom");
+                }));
+    try (PrefetchingIterator<Integer> iterator =
+        new PrefetchingIterator<>(source, 2, "test", element -> {})) {
+      assertEquals(1, iterator.next());
+      IllegalStateException e = assertThrows(IllegalStateException.class, iterator::hasNext);
+      assertEquals("boom", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testDiscardsUnconsumedElementsOnClose() {
+    List<Integer> discarded = new ArrayList<>();
+    PrefetchingIterator<Integer> iterator =
+        new PrefetchingIterator<>(
+            ImmutableList.of(1, 2, 3).iterator(), 3, "test", discarded::add);
+    assertEquals(1, iterator.next());
+    // Fetches the second element without consuming it
+    assertTrue(iterator.hasNext());
+    iterator.close();
+    // The third element may or may not have been fetched by the time the iterator was closed
+    assertTrue(discarded.contains(2));
+    assertFalse(discarded.contains(1));
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.cloud.bigquery.TableId;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QueryResultsCacheTest {
+
+  private static final String QUERY = "SELECT a, COUNT(*) AS c FROM mydataset.mytable GROUP BY a";
+
+  private final AtomicInteger numMaterialized = new AtomicInteger();
+  private final Supplier<TableId> materializer =
+      () ->
+          TableId.of("myproject", "mydataset", "results" + numMaterialized.incrementAndGet());
+
+  @BeforeEach
+  public void setUp() {
+    QueryResultsCache.clear();
+  }
+
+  @Test
+  public void testSameHiveQuerySharesResults() {
+    TableId first = QueryResultsCache.getOrMaterialize("q1", QUERY, materializer);
+    TableId second = QueryResultsCache.getOrMaterialize("q1", QUERY, materializer);
+    assertEquals(first, second);
+    assertEquals(1, numMaterialized.get());
+  }
+
+  @Test
+  public void testOtherHiveQueriesRunTheQueryAgain() {
+    TableId first = QueryResultsCache.getOrMaterialize("q1", QUERY, materializer);
+    TableId second = QueryResultsCache.getOrMaterialize("q2", QUERY, materializer);
+    assertNotEquals(first, second);
+    QueryResultsCache.getOrMaterialize("q1", "SELECT 1 AS a", materializer);
+    assertEquals(3, numMaterialized.get());
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class ReadParallelismTest {
+
+  @Test
+  public void testSmallRead() {
+    ReadParallelism parallelism = ReadParallelism.compute(10, 1024, 50);
+    assertThat(parallelism.getMaxParallelism()).isEqualTo(1);
+    assertThat(parallelism.getPreferredMinParallelism()).isEqualTo(1);
+  }
+
+  @Test
+  public void testLargeReadIsCappedByCapacity() {
+    ReadParallelism parallelism = ReadParallelism.compute(100 * 1024 + 1, 1024, 50);
+    assertThat(parallelism.getMaxParallelism()).isEqualTo(101);
+    assertThat(parallelism.getPreferredMinParallelism()).isEqualTo(50);
+  }
+
+  @Test
+  public void testUnknownCapacity() {
+    ReadParallelism parallelism = ReadParallelism.compute(8 * 1024, 1024, 0);
+    assertThat(parallelism.getMaxParallelism()).isEqualTo(8);
+    assertThat(parallelism.getPreferredMinParallelism()).isEqualTo(8);
+  }
+
+  @Test
+  public void testEmptyRead() {
+    ReadParallelism parallelism = ReadParallelism.compute(0, 1024, 10);
+    assertThat(parallelism.getMaxParallelism()).isEqualTo(1);
+    assertThat(parallelism.getPreferredMinParallelism()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.cloud.bigquery.storage.v1.ReadRowsResponse;
+import com.google.cloud.bigquery.storage.v1.StreamStats;
+import org.junit.jupiter.api.Test;
+
+public class ReadProgressTest {
+
+  private static ReadProgress.ResponseStats stats(double start, double end, long rowCount) {
+    return new ReadProgress.ResponseStats(
+        ReadRowsResponse.newBuilder()
+            .setRowCount(rowCount)
+            .setStats(
+                StreamStats.newBuilder()
+                    .setProgress(
+                        StreamStats.Progress.newBuilder()
+                            .setAtResponseStart(start)
+                            .setAtResponseEnd(end)))
+            .build());
+  }
+
+  @Test
+  public void testInterpolatesWithinBatch() {
+    ReadProgress progress = new ReadProgress(1000);
+    assertEquals(0.0f, progress.getProgress());
+    progress.startBatch(stats(0.2, 0.4, 10));
+    assertEquals(0.2f, progress.getProgress(), 1e-6);
+    progress.consumeRows(5);
+    assertEquals(0.3f, progress.getProgress(), 1e-6);
+    assertEquals(300, progress.getPos());
+    progress.consumeRows(5);
+    assertEquals(0.4f, progress.getProgress(), 1e-6);
+    progress.finish();
+    assertEquals(1.0f, progress.getProgress());
+    assertEquals(1000, progress.getPos());
+  }
+
+  @Test
+  public void testMissingStats() {
+    ReadProgress progress = new ReadProgress(1000);
+    progress.startBatch(stats(0, 0, 0));
+    progress.consumeRows(3);
+    assertEquals(0.0f, progress.getProgress());
+  }
+
+  @Test
+  public void testMultipleStreams() {
+    ReadProgress progress = new ReadProgress(1000, 100);
+    // The responses of two streams are interleaved, each with the progress through its own stream
+    progress.startBatch(stats(0.5, 0.6, 10));
+    progress.consumeRows(10);
+    assertEquals(0.1f, progress.getProgress(), 1e-6);
+    progress.startBatch(stats(0.0, 0.1, 10));
+    progress.consumeRows(10);
+    assertEquals(0.2f, progress.getProgress(), 1e-6);
+    assertEquals(200, progress.getPos());
+    // More rows than estimated
+    progress.startBatch(stats(0.9, 1.0, 100));
+    progress.consumeRows(100);
+    assertEquals((float) ReadProgress.MAX_ESTIMATED_PROGRESS, progress.getProgress(), 1e-6);
+    progress.finish();
+    assertEquals(1.0f, progress.getProgress());
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.cloud.bigquery.TableId;
+import com.google.cloud.bigquery.connector.common.ReadSessionResponse;
+import com.google.cloud.bigquery.storage.v1.ReadSession;
+import com.google.cloud.hive.bigquery.connector.config.HiveBigQueryConfig;
+import com.google.common.collect.ImmutableSet;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.hadoop.conf.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ReadSessionCacheTest {
+
+  private static final TableId TABLE = TableId.of("myproject", "mydataset", "mytable");
+
+  private final HiveBigQueryConfig opts = HiveBigQueryConfig.from(new Configuration());
+  private final AtomicInteger numCreated = new AtomicInteger();
+  private final Supplier<ReadSessionResponse> creator =
+      () -> {
+        numCreated.incrementAndGet();
+        return new ReadSessionResponse(ReadSession.getDefaultInstance(), null);
+      };
+
+  @BeforeEach
+  public void setUp() {
+    ReadSessionCache.clear();
+  }
+
+  private ReadSessionCache.Key key(String queryId, Optional<String> filter, String... fields) {
+    return new ReadSessionCache.Key(queryId, TABLE, ImmutableSet.copyOf(fields), filter, opts);
+  }
+
+  @Test
+  public void testSameScanSharesSession() {
+    ReadSessionResponse first =
+        ReadSessionCache.getOrCreate(key("q1", Optional.empty(), "a", "b"), 300, creator);
+    // Field order doesn't matter
+    ReadSessionResponse second =
+        ReadSessionCache.getOrCreate(key("q1", Optional.empty(), "b", "a"), 300, creator);
+    assertSame(first, second);
+    assertEquals(1, numCreated.get());
+  }
+
+  @Test
+  public void testDifferentScansDontShareSession() {
+    ReadSessionCache.getOrCreate(key("q1", Optional.empty(), "a"), 300, creator);
+    ReadSessionCache.getOrCreate(key("q1", Optional.empty(), "a", "b"), 300, creator);
+    ReadSessionCache.getOrCreate(key("q1", Optional.of("a > 1"), "a"), 300, creator);
+    ReadSessionCache.getOrCreate(key("q2", Optional.empty(), "a"), 300, creator);
+    assertEquals(4, numCreated.get());
+  }
+
+  @Test
+  public void testDisabled() {
+    ReadSessionCache.getOrCreate(key("q1", Optional.empty(), "a"), 0, creator);
+    ReadSessionCache.getOrCreate(key("q1", Optional.empty(), "a"), 0, creator);
+    assertEquals(2, numCreated.get());
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class StreamPackerTest {
+
+  @Test
+  public void testGetNumSplits() {
+    assertThat(StreamPacker.getNumSplits(1000, 10, 300)).isEqualTo(4);
+    assertThat(StreamPacker.getNumSplits(1000, 3, 300)).isEqualTo(3);
+    assertThat(StreamPacker.getNumSplits(10, 10, 300)).isEqualTo(1);
+    assertThat(StreamPacker.getNumSplits(0, 10, 300)).isEqualTo(1);
+    assertThat(StreamPacker.getNumSplits(0, 0, 300)).isEqualTo(0);
+  }
+
+  @Test
+  public void testPackEqualSizes() {
+    List<String> streams = ImmutableList.of("s0", "s1", "s2", "s3", "s4");
+    List<List<String>> bins = StreamPacker.pack(streams, s -> 10, 2);
+    assertThat(bins)
+        .containsExactly(ImmutableList.of("s0", "s2", "s4"), ImmutableList.of("s1", "s3"))
+        .inOrder();
+  }
+
+  @Test
+  public void testPackVariableSizes() {
+    Map<String, Long> sizes = ImmutableMap.of("a", 1L, "b", 7L, "c", 3L, "d", 4L, "e", 5L);
+    List<List<String>> bins =
+        StreamPacker.pack(ImmutableList.copyOf(sizes.keySet()), sizes::get, 2);
+    // b(7) -> 0, e(5) -> 1, d(4) -> 1, c(3) -> 0, a(1) -> 1
+    assertThat(bins)
+        .containsExactly(ImmutableList.of("b", "c"), ImmutableList.of("a", "d", "e"))
+        .inOrder();
+  }
+
+  @Test
+  public void testPackDropsEmptyBins() {
+    List<List<String>> bins = StreamPacker.pack(ImmutableList.of("s0", "s1"), s -> 10, 4);
+    assertThat(bins).containsExactly(ImmutableList.of("s0"), ImmutableList.of("s1")).inOrder();
+  }
+}
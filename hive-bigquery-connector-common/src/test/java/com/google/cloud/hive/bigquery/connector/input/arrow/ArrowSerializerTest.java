@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input.arrow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class ArrowSerializerTest {
+
+  @Test
+  public void testIntegerDecoders() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        BigIntVector vector = new BigIntVector("col", allocator)) {
+      vector.allocateNew(2);
+      vector.set(0, 42);
+      vector.setNull(1);
+      vector.setValueCount(2);
+      ArrowSerializer.Decoder intDecoder =
+          ArrowSerializer.createDecoder(PrimitiveObjectInspectorFactory.writableIntObjectInspector);
+      assertEquals(new IntWritable(42), intDecoder.decode(vector, 0));
+      assertNull(intDecoder.decode(vector, 1));
+      ArrowSerializer.Decoder longDecoder =
+          ArrowSerializer.createDecoder(
+              PrimitiveObjectInspectorFactory.writableLongObjectInspector);
+      assertEquals(new LongWritable(42), longDecoder.decode(vector, 0));
+      assertNull(longDecoder.decode(vector, 1));
+    }
+  }
+
+  @Test
+  public void testStringDecoder() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        VarCharVector vector = new VarCharVector("col", allocator)) {
+      vector.allocateNew(3);
+      vector.setSafe(0, "abc".getBytes(StandardCharsets.UTF_8));
+      vector.setNull(1);
+      vector.setSafe(2, "".getBytes(StandardCharsets.UTF_8));
+      vector.setValueCount(3);
+      ArrowSerializer.Decoder decoder =
+          ArrowSerializer.createDecoder(
+              PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+      assertEquals(new Text("abc"), decoder.decode(vector, 0));
+      assertNull(decoder.decode(vector, 1));
+      assertEquals(new Text(""), decoder.decode(vector, 2));
+    }
+  }
+
+  @Test
+  public void testReusableStringDecoder() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        VarCharVector vector = new VarCharVector("col", allocator)) {
+      vector.allocateNew(3);
+      vector.setSafe(0, "a longer value".getBytes(StandardCharsets.UTF_8));
+      vector.setSafe(1, "d\u00e9j\u00e0".getBytes(StandardCharsets.UTF_8));
+      vector.setNull(2);
+      vector.setValueCount(3);
+      ArrowSerializer.Decoder decoder =
+          ArrowSerializer.createDecoder(
+              PrimitiveObjectInspectorFactory.writableHiveVarcharObjectInspector, true);
+      Object first = decoder.decode(vector, 0);
+      assertEquals(new Text("a longer value"), first);
+      Object second = decoder.decode(vector, 1);
+      assertSame(first, second);
+      assertEquals(new Text("d\u00e9j\u00e0"), second);
+      assertNull(decoder.decode(vector, 2));
+    }
+  }
+}
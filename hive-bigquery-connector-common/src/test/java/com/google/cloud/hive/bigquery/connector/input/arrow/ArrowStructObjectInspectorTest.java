@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input.arrow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.StructField;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class ArrowStructObjectInspectorTest {
+
+  private static final StructObjectInspector ROW_OI =
+      ObjectInspectorFactory.getStandardStructObjectInspector(
+          Arrays.asList("id", "name", "unread"),
+          Arrays.asList(
+              PrimitiveObjectInspectorFactory.writableLongObjectInspector,
+              PrimitiveObjectInspectorFactory.writableStringObjectInspector,
+              PrimitiveObjectInspectorFactory.writableStringObjectInspector));
+
+  @Test
+  public void testReadsArrowRows() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        BigIntVector ids = new BigIntVector("id", allocator);
+        VarCharVector names = new VarCharVector("name", allocator)) {
+      ids.allocateNew(2);
+      ids.set(0, 1);
+      ids.set(1, 2);
+      ids.setValueCount(2);
+      names.allocateNew(2);
+      names.setSafe(0, "a".getBytes(StandardCharsets.UTF_8));
+      names.setNull(1);
+      names.setValueCount(2);
+      ArrowStructObjectInspector oi = new ArrowStructObjectInspector(ROW_OI);
+      StructField idField = oi.getStructFieldRef("id");
+      StructField nameField = oi.getStructFieldRef("name");
+      StructField unreadField = oi.getStructFieldRef("unread");
+      ArrowRow row = new ArrowRow(new FieldVector[] {ids, names, null});
+      row.setRowId(0);
+      assertEquals(new LongWritable(1), oi.getStructFieldData(row, idField));
+      assertEquals(new Text("a"), oi.getStructFieldData(row, nameField));
+      assertNull(oi.getStructFieldData(row, unreadField));
+      row.setRowId(1);
+      assertEquals(
+          Arrays.asList(new LongWritable(2), null, null), oi.getStructFieldsDataAsList(row));
+    }
+  }
+
+  @Test
+  public void testReadsArrayRows() {
+    ArrowStructObjectInspector oi = new ArrowStructObjectInspector(ROW_OI);
+    Object[] row = new Object[] {new LongWritable(1), new Text("a"), null};
+    assertEquals(new LongWritable(1), oi.getStructFieldData(row, oi.getStructFieldRef("id")));
+    assertEquals(Arrays.asList(row), oi.getStructFieldsDataAsList(row));
+  }
+
+  @Test
+  public void testEquality() {
+    assertEquals(new ArrowStructObjectInspector(ROW_OI), new ArrowStructObjectInspector(ROW_OI));
+    assertEquals(
+        new ArrowStructObjectInspector(ROW_OI).hashCode(),
+        new ArrowStructObjectInspector(ROW_OI).hashCode());
+  }
+}
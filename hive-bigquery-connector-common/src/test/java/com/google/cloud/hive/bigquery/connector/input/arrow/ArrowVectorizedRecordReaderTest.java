@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input.arrow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.StructVector;
+import org.apache.arrow.vector.types.Types.MinorType;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.StructColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.junit.jupiter.api.Test;
+
+public class ArrowVectorizedRecordReaderTest {
+
+  private static String getString(BytesColumnVector vector, int i) {
+    return new String(vector.vector[i], vector.start[i], vector.length[i], StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testCopyPrimitives() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        BigIntVector longs = new BigIntVector("l", allocator);
+        BitVector booleans = new BitVector("b", allocator);
+        DateDayVector dates = new DateDayVector("d", allocator);
+        Float8Vector doubles = new Float8Vector("f", allocator);
+        VarCharVector strings = new VarCharVector("s", allocator);
+        VectorSchemaRoot root =
+            VectorSchemaRoot.of(longs, booleans, dates, doubles, strings)) {
+      root.allocateNew();
+      longs.set(0, 1);
+      longs.setNull(1);
+      booleans.set(0, 1);
+      booleans.set(1, 0);
+      dates.set(0, -1);
+      dates.setNull(1);
+      doubles.set(0, 1.5);
+      doubles.setNull(1);
+      strings.setSafe(0, "abc".getBytes(StandardCharsets.UTF_8));
+      strings.setSafe(1, "".getBytes(StandardCharsets.UTF_8));
+      root.setRowCount(2);
+
+      LongColumnVector longColumn = new LongColumnVector(2);
+      ArrowVectorizedRecordReader.copy(longs, 0, longColumn, 0, 2);
+      assertEquals(1, longColumn.vector[0]);
+      assertFalse(longColumn.isNull[0]);
+      assertTrue(longColumn.isNull[1]);
+      assertFalse(longColumn.noNulls);
+
+      LongColumnVector booleanColumn = new LongColumnVector(2);
+      ArrowVectorizedRecordReader.copy(booleans, 0, booleanColumn, 0, 2);
+      assertEquals(1, booleanColumn.vector[0]);
+      assertEquals(0, booleanColumn.vector[1]);
+      assertTrue(booleanColumn.noNulls);
+
+      LongColumnVector dateColumn = new LongColumnVector(2);
+      ArrowVectorizedRecordReader.copy(dates, 0, dateColumn, 0, 2);
+      assertEquals(-1, dateColumn.vector[0]);
+      assertTrue(dateColumn.isNull[1]);
+
+      DoubleColumnVector doubleColumn = new DoubleColumnVector(2);
+      ArrowVectorizedRecordReader.copy(doubles, 0, doubleColumn, 0, 2);
+      assertEquals(1.5, doubleColumn.vector[0]);
+      assertTrue(doubleColumn.isNull[1]);
+
+      BytesColumnVector stringColumn = new BytesColumnVector(2);
+      stringColumn.reset();
+      ArrowVectorizedRecordReader.copy(strings, 0, stringColumn, 0, 2);
+      assertEquals("abc", getString(stringColumn, 0));
+      assertEquals("", getString(stringColumn, 1));
+      assertTrue(stringColumn.noNulls);
+    }
+  }
+
+  @Test
+  public void testCopyTimestamps() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        TimeStampMicroVector timestamps = new TimeStampMicroVector("t", allocator)) {
+      timestamps.allocateNew(5);
+      timestamps.set(0, 42);
+      timestamps.set(1, 1_500_000L);
+      timestamps.set(2, -1L);
+      timestamps.set(3, -1_500_000L);
+      timestamps.setNull(4);
+      timestamps.setValueCount(5);
+
+      // Copy all but the first value, after the first row of the Hive column
+      TimestampColumnVector column = new TimestampColumnVector(5);
+      ArrowVectorizedRecordReader.copy(timestamps, 1, column, 1, 4);
+      // 1.5 seconds after the epoch
+      assertEquals(1_500, column.time[1]);
+      assertEquals(500_000_000, column.nanos[1]);
+      // 1 microsecond before the epoch: the nanos must stay positive
+      assertEquals(-1, column.time[2]);
+      assertEquals(999_999_000, column.nanos[2]);
+      assertEquals(-1L, column.asScratchTimestamp(2).getTime());
+      // 1.5 seconds before the epoch
+      assertEquals(-1_500, column.time[3]);
+      assertEquals(500_000_000, column.nanos[3]);
+      assertTrue(column.isNull[4]);
+      assertFalse(column.isNull[1]);
+    }
+  }
+
+  @Test
+  public void testCopyDecimals() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        DecimalVector decimals = new DecimalVector("d", allocator, 38, 9)) {
+      decimals.allocateNew(3);
+      decimals.set(0, new BigDecimal("12.345000000"));
+      decimals.set(1, new BigDecimal("-0.000000001"));
+      decimals.setNull(2);
+      decimals.setValueCount(3);
+
+      DecimalColumnVector column = new DecimalColumnVector(3, 38, 9);
+      ArrowVectorizedRecordReader.copy(decimals, 0, column, 0, 3);
+      assertEquals(HiveDecimal.create("12.345"), column.vector[0].getHiveDecimal());
+      assertEquals(HiveDecimal.create("-0.000000001"), column.vector[1].getHiveDecimal());
+      assertTrue(column.isNull[2]);
+
+      // The values are rounded to the scale of the Hive column
+      DecimalColumnVector rounded = new DecimalColumnVector(3, 10, 2);
+      ArrowVectorizedRecordReader.copy(decimals, 0, rounded, 0, 3);
+      assertEquals(HiveDecimal.create("12.35"), rounded.vector[0].getHiveDecimal());
+      assertEquals(HiveDecimal.ZERO, rounded.vector[1].getHiveDecimal());
+    }
+  }
+
+  @Test
+  public void testCopyLists() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        ListVector lists = ListVector.empty("l", allocator)) {
+      lists.addOrGetVector(FieldType.nullable(MinorType.BIGINT.getType()));
+      lists.allocateNew();
+      BigIntVector items = (BigIntVector) lists.getDataVector();
+      // [1, 2], null, [], [3, null]
+      int offset = lists.startNewValue(0);
+      items.setSafe(offset, 1);
+      items.setSafe(offset + 1, 2);
+      lists.endValue(0, 2);
+      lists.setNull(1);
+      lists.startNewValue(2);
+      lists.endValue(2, 0);
+      offset = lists.startNewValue(3);
+      items.setSafe(offset, 3);
+      items.setNull(offset + 1);
+      lists.endValue(3, 2);
+      items.setValueCount(4);
+      lists.setValueCount(4);
+
+      ListColumnVector column = new ListColumnVector(4, new LongColumnVector(1));
+      ArrowVectorizedRecordReader.copy(lists, 0, column, 0, 4);
+      assertFalse(column.isNull[0]);
+      assertTrue(column.isNull[1]);
+      assertFalse(column.isNull[2]);
+      assertEquals(4, column.childCount);
+      assertEquals(0, column.offsets[0]);
+      assertEquals(2, column.lengths[0]);
+      assertEquals(0, column.lengths[1]);
+      assertEquals(0, column.lengths[2]);
+      assertEquals(2, column.offsets[3]);
+      assertEquals(2, column.lengths[3]);
+      LongColumnVector child = (LongColumnVector) column.child;
+      assertEquals(1, child.vector[0]);
+      assertEquals(2, child.vector[1]);
+      assertEquals(3, child.vector[2]);
+      assertTrue(child.isNull[3]);
+
+      // The offsets of the Hive column are relative to its own child vector
+      column.reset();
+      ArrowVectorizedRecordReader.copy(lists, 2, column, 0, 2);
+      assertEquals(2, column.childCount);
+      assertEquals(0, column.lengths[0]);
+      assertEquals(0, column.offsets[1]);
+      assertEquals(2, column.lengths[1]);
+      assertEquals(3, child.vector[0]);
+      assertTrue(child.isNull[1]);
+    }
+  }
+
+  @Test
+  public void testCopyStructs() {
+    try (BufferAllocator allocator = new RootAllocator(Long.MAX_VALUE);
+        StructVector structs = StructVector.empty("s", allocator)) {
+      BigIntVector ids =
+          structs.addOrGet("id", FieldType.nullable(MinorType.BIGINT.getType()), BigIntVector.class);
+      VarCharVector names =
+          structs.addOrGet(
+              "name", FieldType.nullable(MinorType.VARCHAR.getType()), VarCharVector.class);
+      structs.allocateNew();
+      // {1, "a"}, null, {null, "c"}
+      ids.setSafe(0, 1);
+      names.setSafe(0, "a".getBytes(StandardCharsets.UTF_8));
+      structs.setIndexDefined(0);
+      structs.setNull(1);
+      ids.setNull(2);
+      names.setSafe(2, "c".getBytes(StandardCharsets.UTF_8));
+      structs.setIndexDefined(2);
+      structs.setValueCount(3);
+
+      StructColumnVector column =
+          new StructColumnVector(3, new LongColumnVector(3), new BytesColumnVector(3));
+      column.reset();
+      ArrowVectorizedRecordReader.copy(structs, 0, column, 0, 3);
+      assertFalse(column.isNull[0]);
+      assertTrue(column.isNull[1]);
+      assertFalse(column.isNull[2]);
+      LongColumnVector idColumn = (LongColumnVector) column.fields[0];
+      BytesColumnVector nameColumn = (BytesColumnVector) column.fields[1];
+      assertEquals(1, idColumn.vector[0]);
+      assertTrue(idColumn.isNull[2]);
+      assertEquals("a", getString(nameColumn, 0));
+      assertEquals("c", getString(nameColumn, 2));
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Google Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.cloud.hive.bigquery.connector.input.avro;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.common.collect.ImmutableList;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.junit.jupiter.api.Test;
+
+public class AvroRowDecoderTest {
+
+  @Test
+  public void testDecode() throws Exception {
+    Schema schema =
+        SchemaBuilder.record("row")
+            .fields()
+            .optionalLong("num")
+            .requiredString("str")
+            .name("arr")
+            .type()
+            .array()
+            .items()
+            .longType()
+            .noDefault()
+            .endRecord();
+    GenericRecord first = new GenericData.Record(schema);
+    first.put("num", 42L);
+    first.put("str", "d\u00e9j\u00e0");
+    first.put("arr", Arrays.asList(1L, 2L));
+    GenericRecord second = new GenericData.Record(schema);
+    second.put("num", null);
+    second.put("str", "");
+    second.put("arr", ImmutableList.of());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    GenericDatumWriter<GenericRecord> writer = new GenericDatumWriter<>(schema);
+    writer.write(first, encoder);
+    writer.write(second, encoder);
+    encoder.flush();
+
+    // The Hive columns are in a different order than the Avro fields
+    StructObjectInspector rowObjectInspector =
+        ObjectInspectorFactory.getStandardStructObjectInspector(
+            ImmutableList.of("str", "arr", "num"),
+            ImmutableList.<ObjectInspector>of(
+                PrimitiveObjectInspectorFactory.writableStringObjectInspector,
+                ObjectInspectorFactory.getStandardListObjectInspector(
+                    PrimitiveObjectInspectorFactory.writableLongObjectInspector),
+                PrimitiveObjectInspectorFactory.writableLongObjectInspector));
+    AvroRowDecoder rowDecoder =
+        new AvroRowDecoder(schema, ImmutableList.of("str", "arr", "num"), rowObjectInspector);
+    BinaryDecoder in = DecoderFactory.get().binaryDecoder(out.toByteArray(), null);
+    assertArrayEquals(
+        new Object[] {
+          new Text("d\u00e9j\u00e0"),
+          new Object[] {new LongWritable(1), new LongWritable(2)},
+          new LongWritable(42)
+        },
+        rowDecoder.decode(in));
+    assertArrayEquals(new Object[] {new Text(""), new Object[0], null}, rowDecoder.decode(in));
+    assertTrue(in.isEnd());
+  }
+}